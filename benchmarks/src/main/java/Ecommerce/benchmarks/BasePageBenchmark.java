@@ -0,0 +1,71 @@
+package Ecommerce.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import Ecommerce.AbstractComponent.BasePage;
+
+/**
+ * BasePageBenchmark
+ * -----------------
+ * Framework overhead of the BasePage actions on a mock driver:
+ *   - type() into a plain and into a sensitive field (masking decision and log line)
+ *   - click() (element lookup through the cache and its log line)
+ *
+ * logLevel is the level of the BasePage logger: OFF shows the cost without logging,
+ * INFO the default and DEBUG the most verbose setting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkSetup.LOG_CONFIG, BenchmarkSetup.HEADLESS })
+public class BasePageBenchmark {
+
+    @Param({ "OFF", "INFO", "DEBUG" })
+    public String logLevel;
+
+    private final By emailField = By.id("userEmail");
+    private final By passwordField = By.id("userPassword");
+    private final By loginButton = By.id("login");
+
+    private BenchmarkSetup.BenchPage page;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSetup.configure(Map.of());
+        Configurator.setLevel(BasePage.class.getName(), Level.valueOf(logLevel));
+        page = new BenchmarkSetup.BenchPage(MockBrowser.driver());
+    }
+
+    @Benchmark
+    public void typeIntoPlainField() {
+        page.typeInto(emailField, "usman.basharmal123@gmail.com");
+    }
+
+    @Benchmark
+    public void typeIntoSensitiveField() {
+        page.typeInto(passwordField, "R@hulshetty.123");
+    }
+
+    @Benchmark
+    public void click() {
+        page.clickOn(loginButton);
+    }
+}
@@ -0,0 +1,41 @@
+package Ecommerce.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkMain
+ * -------------
+ * Entry point of benchmarks.jar. Runs JMH with the given options and, unless a result
+ * format is given (-rf), writes the results as JSON to
+ *   benchmarks.results/jmh-&lt;benchmarks.label&gt;.json   (default: benchmarks/results, a timestamp)
+ * so runs of different releases can be compared, e.g. with -Dbenchmarks.label=1.4.0.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(List.of(args));
+        if (!options.contains("-rf")) {
+            Path results = resultFile();
+            options.addAll(List.of("-rf", "json", "-rff", results.toString()));
+            System.out.println("JMH results: " + results);
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+
+    private static Path resultFile() throws IOException {
+        Path directory = Path.of(System.getProperty("benchmarks.results", "benchmarks/results"));
+        Files.createDirectories(directory);
+        String label = System.getProperty("benchmarks.label",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        return directory.resolve("jmh-" + label + ".json");
+    }
+}
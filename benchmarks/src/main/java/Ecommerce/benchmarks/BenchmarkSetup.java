@@ -0,0 +1,75 @@
+package Ecommerce.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import Ecommerce.AbstractComponent.BasePage;
+
+/**
+ * BenchmarkSetup
+ * --------------
+ * Shared set-up of the benchmark JVMs.
+ *
+ * FrameworkConfig captures the system properties once, on first use, so configure()
+ * must run in a trial set-up before any framework class is touched. JMH runs every
+ * benchmark and parameter combination in its own fork, so each one can use its own settings.
+ */
+final class BenchmarkSetup {
+
+    // JVM options of every benchmark fork (see @Fork)
+    static final String LOG_CONFIG = "-Dlog4j2.configurationFile=log4j2-benchmarks.xml";
+    static final String HEADLESS = "-Djava.awt.headless=true";
+
+    private static Path workDir;
+
+    private BenchmarkSetup() {
+    }
+
+    /**
+     * Temporary directory of this fork for reports, screenshots and data files.
+     */
+    static synchronized Path workDir() {
+        if (workDir == null) {
+            try {
+                workDir = Files.createTempDirectory("sfd-benchmarks");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return workDir;
+    }
+
+    /**
+     * Points the report and screenshot output at the work directory and applies the given settings.
+     */
+    static void configure(Map<String, String> settings) {
+        System.setProperty("report.path", workDir().resolve("report/index.html").toString());
+        System.setProperty("report.results", workDir().resolve("report/results.jsonl").toString());
+        System.setProperty("screenshot.dir", workDir().resolve("report/screenshots").toString());
+        settings.forEach(System::setProperty);
+    }
+
+    /**
+     * Page object exposing the protected BasePage actions to the benchmarks.
+     */
+    static final class BenchPage extends BasePage {
+
+        BenchPage(WebDriver driver) {
+            super(driver);
+        }
+
+        void typeInto(By locator, String text) {
+            type(locator, text);
+        }
+
+        void clickOn(By locator) {
+            click(locator);
+        }
+    }
+}
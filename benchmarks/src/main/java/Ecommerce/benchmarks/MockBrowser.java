@@ -0,0 +1,146 @@
+package Ecommerce.benchmarks;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * MockBrowser
+ * -----------
+ * In-memory WebDriver for the benchmarks: every lookup finds one visible, enabled
+ * element, actions do nothing and screenshots return a prepared PNG.
+ * Keeps the measurements on the framework's own code, with no browser or network.
+ */
+final class MockBrowser {
+
+    private MockBrowser() {
+    }
+
+    /**
+     * Driver whose elements are always found, displayed and enabled.
+     */
+    static WebDriver driver() {
+        return driver(screenshot(1440, 900), false);
+    }
+
+    /**
+     * Driver returning the given PNG as screenshot.
+     *
+     * @param png    screenshot content
+     * @param unique if true, every screenshot gets a different trailer after the PNG end,
+     *               so content-based deduplication does not skip the write
+     */
+    static WebDriver driver(byte[] png, boolean unique) {
+        WebElement element = element();
+        AtomicLong screenshots = new AtomicLong();
+        return (WebDriver) Proxy.newProxyInstance(MockBrowser.class.getClassLoader(),
+                new Class<?>[] { WebDriver.class, JavascriptExecutor.class, TakesScreenshot.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "findElements":
+                            return List.of(element);
+                        case "getScreenshotAs":
+                            byte[] bytes = unique ? withTrailer(png, screenshots.incrementAndGet()) : png;
+                            return ((OutputType<?>) args[0]).convertFromPngBytes(bytes);
+                        case "getTitle":
+                        case "getCurrentUrl":
+                        case "getPageSource":
+                        case "getWindowHandle":
+                            return "";
+                        case "toString":
+                            return "MockBrowser";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    private static WebElement element() {
+        return (WebElement) Proxy.newProxyInstance(MockBrowser.class.getClassLoader(),
+                new Class<?>[] { WebElement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "isDisplayed":
+                        case "isEnabled":
+                            return true;
+                        case "getText":
+                        case "getTagName":
+                            return "mock";
+                        case "findElements":
+                            return List.of();
+                        case "toString":
+                            return "MockElement";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * A screenshot-like PNG of the given size (gradient and text, so it compresses like a page).
+     */
+    static byte[] screenshot(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.WHITE, width, height, new Color(210, 220, 240)));
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.DARK_GRAY);
+        for (int y = 40; y < height; y += 24) {
+            graphics.drawString("ZARA COAT 3   ADIDAS ORIGINAL   IPHONE 13 PRO   row " + y, 20, y);
+        }
+        graphics.dispose();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] withTrailer(byte[] png, long counter) {
+        byte[] bytes = Arrays.copyOf(png, png.length + Long.BYTES);
+        for (int i = 0; i < Long.BYTES; i++) {
+            bytes[png.length + i] = (byte) (counter >>> (8 * i));
+        }
+        return bytes;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
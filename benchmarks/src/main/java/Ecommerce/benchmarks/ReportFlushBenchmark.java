@@ -0,0 +1,85 @@
+package Ecommerce.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Ecommerce.TestComponents.ResultStream.TestRecord;
+import resources.ExtentReportNG;
+
+/**
+ * ReportFlushBenchmark
+ * --------------------
+ * Rendering and flushing the ExtentReports HTML report (ExtentReportNG.render) for
+ * 100, 1,000 and 10,000 test results: 90% passed, 7% failed with a stack trace and
+ * 3% retried. One invocation builds the report model and writes index.html once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkSetup.LOG_CONFIG, BenchmarkSetup.HEADLESS })
+public class ReportFlushBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int tests;
+
+    private List<TestRecord> records;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSetup.configure(Map.of());
+        records = new ArrayList<>(tests);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < tests; i++) {
+            TestRecord record = new TestRecord();
+            record.method = "test" + i;
+            record.className = "Ecommerce.BenchmarkTest";
+            record.testId = "BenchmarkTest.test" + i;
+            record.context = "Benchmark";
+            record.thread = "TestNG-" + (i % 5);
+            record.startMillis = start + i * 1000L;
+            record.endMillis = record.startMillis + 800;
+            int bucket = i % 100;
+            if (bucket < 7) {
+                record.status = "FAIL";
+                record.error = "java.lang.AssertionError: Product was not found in the cart!";
+                record.stackTrace = stackTrace();
+            } else if (bucket < 10) {
+                record.status = "RETRIED";
+                record.error = "org.openqa.selenium.TimeoutException: Expected condition failed";
+            } else {
+                record.status = "PASS";
+            }
+            records.add(record);
+        }
+    }
+
+    @Benchmark
+    public void renderAndFlush() {
+        ExtentReportNG.render(records, "retried attempts: " + tests * 3 / 100);
+    }
+
+    private static String stackTrace() {
+        StringBuilder trace = new StringBuilder("java.lang.AssertionError: Product was not found in the cart!\n");
+        for (int frame = 0; frame < 40; frame++) {
+            trace.append("\tat Ecommerce.pageobjects.CartSectionPage.verifyProductDisplay(CartSectionPage.java:")
+                    .append(50 + frame).append(")\n");
+        }
+        return trace.toString();
+    }
+}
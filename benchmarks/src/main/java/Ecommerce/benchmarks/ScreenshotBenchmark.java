@@ -0,0 +1,89 @@
+package Ecommerce.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import Ecommerce.TestComponents.BaseTest;
+import Ecommerce.TestComponents.ScreenshotWriter;
+
+/**
+ * ScreenshotBenchmark
+ * -------------------
+ * Capturing a 1440x900 screenshot through BaseTest.getScreenshoot() until it is on disk:
+ * hashing, encoding (PNG as is, downscaled, or JPEG) and the write by ScreenshotWriter.
+ *
+ * With unique=false every capture has the same content, so only the first one is written
+ * and the rest measure the deduplication path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkSetup.LOG_CONFIG, BenchmarkSetup.HEADLESS })
+public class ScreenshotBenchmark {
+
+    @Param({ "png", "jpg" })
+    public String format;
+
+    @Param({ "0", "720" })
+    public int maxWidth;
+
+    @Param({ "true", "false" })
+    public boolean unique;
+
+    private WebDriver driver;
+    private Path screenshotDir;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSetup.configure(Map.of(
+                "screenshot.format", format,
+                "screenshot.maxWidth", String.valueOf(maxWidth)));
+        screenshotDir = BenchmarkSetup.workDir().resolve("report/screenshots");
+        driver = MockBrowser.driver(MockBrowser.screenshot(1440, 900), unique);
+    }
+
+    @Benchmark
+    public String captureAndWrite() {
+        String path = BaseTest.getScreenshoot("ScreenshotBenchmark.captureAndWrite", driver);
+        ScreenshotWriter.get().awaitPendingWrites(Duration.ofSeconds(30));
+        return path;
+    }
+
+    /**
+     * Keeps the disk use of long runs bounded; the deduplication index still refers to
+     * the deleted files, which does not matter here.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteScreenshots() throws IOException {
+        if (!unique || !Files.isDirectory(screenshotDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(screenshotDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package Ecommerce.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.TestComponents.LoginErrorCase;
+import Ecommerce.TestComponents.TestData;
+
+/**
+ * TestDataBenchmark
+ * -----------------
+ * Reading DataProvider rows with TestData (which replaced BaseTest.getDataFromJson)
+ * from files of 1k and 100k login rows:
+ *   - cached:   the file is parsed once per JVM; each call iterates the cached rows
+ *   - streamed: the file is parsed row by row on every call (testData.cacheMaxBytes=0)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { BenchmarkSetup.LOG_CONFIG, BenchmarkSetup.HEADLESS })
+public class TestDataBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int rows;
+
+    @Param({ "cached", "streamed" })
+    public String mode;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchmarkSetup.configure(Map.of("testData.cacheMaxBytes",
+                "cached".equals(mode) ? String.valueOf(Long.MAX_VALUE) : "0"));
+        file = BenchmarkSetup.workDir().resolve("login-rows-" + rows + ".json");
+        try (JsonGenerator generator = new ObjectMapper().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (int i = 0; i < rows; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("userEmail", "user" + i + "@example.com");
+                generator.writeStringField("userPassword", "Password" + i);
+                generator.writeStringField("expectedError", "Incorrect email or password.");
+                generator.writeStringField("errorType", "flyinOut");
+                generator.writeArrayFieldStart("tags");
+                generator.writeString(i % 10 == 0 ? "smoke" : "regression");
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Benchmark
+    public void readAllRows(Blackhole blackhole) {
+        TestData.rows(file, LoginErrorCase.class).forEachRemaining(blackhole::consume);
+    }
+}
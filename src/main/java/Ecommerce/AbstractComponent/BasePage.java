@@ -1,16 +1,23 @@
 package Ecommerce.AbstractComponent;
 
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
@@ -20,6 +27,11 @@ import Ecommerce.pageobjects.CartSectionPage;
 
 /**
  * BasePage provides reusable Selenium actions with robust waits and logging.
+ *
+ * Waits use WebDriverWait polling by default; with wait.engine=observer they run
+ * as a single event-driven script in the browser (see ObserverWait).
+ * Every wait is timed per page and locator (see WaitTelemetry).
+ * Located elements are cached per page object until stale or until an action navigates away.
  */
 public class BasePage {
 
@@ -27,22 +39,21 @@ public class BasePage {
     protected WebDriverWait wait;
     private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
 
-    // Sensitive keywords loaded from GlobalData.properties
-    private static List<String> sensitiveKeywords;
+    // Sensitive keywords from the shared configuration (GlobalData.properties)
+    private static final List<String> sensitiveKeywords = FrameworkConfig.get().sensitiveFields();
+    // Masking decision per locator, computed on first use
+    private static final Map<By, Boolean> sensitiveLocators = new ConcurrentHashMap<>();
 
-    static {
-        try {
-            Properties props = new Properties();
-            FileInputStream fis = new FileInputStream(System.getProperty("user.dir")
-                    + "//src//main//resources//GlobalData.properties");
-            props.load(fis);
-            String sensitiveFields = props.getProperty("sensitiveFields", "password,card,cvv,ssn");
-            sensitiveKeywords = Arrays.asList(sensitiveFields.toLowerCase().split(","));
-        } catch (IOException e) {
-            logger.warn("Could not load sensitiveFields from GlobalData.properties. Using defaults.");
-            sensitiveKeywords = Arrays.asList("password", "card", "cvv", "ssn");
-        }
-    }
+    // Wait engine for this run: "polling" (WebDriverWait) or "observer" (MutationObserver, see ObserverWait)
+    private static final boolean observerEngine =
+            "observer".equalsIgnoreCase(FrameworkConfig.get().getString("wait.engine", "polling"));
+    // Per-locator wait durations and (optionally) learned timeouts
+    private static final WaitTelemetry telemetry = WaitTelemetry.get();
+    private static final Duration quietSettle =
+            Duration.ofMillis(FrameworkConfig.get().getLong("wait.quietSettleMs", 50));
+
+    // Elements located by this page object, reused while they stay attached
+    private final Map<By, WebElement> elementCache = new HashMap<>();
 
     // Common locators
     private final By btnCart = By.cssSelector("button[routerlink*='cart']");
@@ -50,76 +61,324 @@ public class BasePage {
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WebDriverWait(driver, WaitTelemetry.DEFAULT_TIMEOUT);
     }
 
     // ===== Wait Utilities =====
     public void waitForElementToAppear(By locator) {
         logger.debug("Waiting for element to appear: {}", locator.toString());
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        awaitCondition(locator, ObserverWait.VISIBLE, ExpectedConditions.visibilityOfElementLocated(locator));
         logger.debug("Element appeared: {}", locator.toString());
     }
 
     public void waitForElementToBeClickable(By locator) {
         logger.debug("Waiting for element to be clickable: {}", locator.toString());
-        wait.until(ExpectedConditions.elementToBeClickable(locator));
+        awaitCondition(locator, ObserverWait.CLICKABLE, ExpectedConditions.elementToBeClickable(locator));
         logger.debug("Element is clickable: {}", locator.toString());
     }
 
     public void waitForElementToDisappear(By locator) {
         logger.debug("Waiting for element to disappear: {}", locator.toString());
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        awaitCondition(locator, ObserverWait.INVISIBLE, ExpectedConditions.invisibilityOfElementLocated(locator));
         logger.debug("Element disappeared: {}", locator.toString());
     }
 
+    /**
+     * Waits until the page is quiet: Angular stable, no fetch/XHR in flight,
+     * no running animations and no spinner overlay (see QuietWait).
+     * Replaces separate spinner, toast and ng-animating waits with one round trip.
+     */
+    public void waitForPageToBeQuiet() {
+        String page = getClass().getSimpleName();
+        Duration timeout = telemetry.timeoutFor(page, "page quiet", "quiet");
+        long start = System.nanoTime();
+        String busy;
+        try {
+            busy = QuietWait.await(driver, timeout, quietSettle);
+        } catch (JavascriptException | ScriptTimeoutException e) {
+            // e.g. the page navigated while waiting: fall back to the spinner wait
+            logger.debug("Quiet wait interrupted: {}", e.getMessage());
+            waitForElementToDisappear(spinnerLocator);
+            return;
+        }
+        telemetry.record(page, "page quiet", "quiet", elapsedMillis(start), busy == null);
+        if (busy != null) {
+            throw new TimeoutException("Page did not become quiet within " + timeout.toMillis()
+                    + " ms: " + busy);
+        }
+        logger.debug("Page is quiet.");
+    }
+
+    /**
+     * Runs a wait with the selected engine, using the timeout learned for this
+     * page and locator, and records how long it took (see WaitTelemetry).
+     *
+     * @return the element produced by the polling condition, or null when the
+     *         observer engine satisfied the wait
+     */
+    private <T> T awaitCondition(By locator, String condition, ExpectedCondition<T> pollingCondition) {
+        String page = getClass().getSimpleName();
+        String target = locator.toString();
+        Duration timeout = telemetry.timeoutFor(page, target, condition);
+        long start = System.nanoTime();
+        boolean met = false;
+        try {
+            T result = awaitInBrowser(locator, condition, timeout)
+                    ? null
+                    : new WebDriverWait(driver, timeout).until(pollingCondition);
+            met = true;
+            return result;
+        } finally {
+            telemetry.record(page, target, condition, elapsedMillis(start), met);
+        }
+    }
+
+    /**
+     * Runs the wait with the observer engine when it is selected and can express the locator.
+     *
+     * @return true if the condition was met in the browser; false if the caller
+     *         must fall back to WebDriverWait polling
+     * @throws TimeoutException if the condition did not hold within the timeout
+     */
+    private boolean awaitInBrowser(By locator, String condition, Duration timeout) {
+        Object[] locatorArgs = observerEngine ? ScriptLocator.expressible(locator) : null;
+        if (locatorArgs == null) {
+            return false;
+        }
+        boolean met;
+        try {
+            met = ObserverWait.await(driver, locatorArgs, condition, timeout);
+        } catch (JavascriptException | ScriptTimeoutException e) {
+            // e.g. the page navigated while waiting: finish the wait by polling
+            logger.debug("Observer wait interrupted for {}: {}", locator, e.getMessage());
+            return false;
+        }
+        if (!met) {
+            throw new TimeoutException("Expected condition failed: waiting for " + condition + " element located by "
+                    + locator + " (tried for " + timeout.toMillis() + " ms with MutationObserver)");
+        }
+        return true;
+    }
+
+    /**
+     * Waits for the element to be visible and returns it.
+     * A cached element that is still attached and displayed is reused without a new lookup.
+     */
+    private WebElement visibleElement(By locator) {
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                if (cached.isDisplayed()) {
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                elementCache.remove(locator);
+            }
+        }
+        WebElement element = awaitCondition(locator, ObserverWait.VISIBLE,
+                ExpectedConditions.visibilityOfElementLocated(locator));
+        return remember(locator, element != null ? element : driver.findElement(locator));
+    }
+
+    /**
+     * Waits for the element to be clickable and returns it.
+     * A cached element that is still attached, displayed and enabled is reused.
+     */
+    private WebElement clickableElement(By locator) {
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                if (cached.isDisplayed() && cached.isEnabled()) {
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                elementCache.remove(locator);
+            }
+        }
+        WebElement element = awaitCondition(locator, ObserverWait.CLICKABLE,
+                ExpectedConditions.elementToBeClickable(locator));
+        return remember(locator, element != null ? element : driver.findElement(locator));
+    }
+
+    // ===== Element Cache =====
+
+    /**
+     * Returns the element for the locator, reusing the cached reference when present.
+     * No wait is applied; use after one of the wait utilities.
+     */
+    protected WebElement find(By locator) {
+        WebElement cached = elementCache.get(locator);
+        return cached != null ? cached : remember(locator, driver.findElement(locator));
+    }
+
+    /**
+     * Runs an action on an element; if the cached reference went stale
+     * (e.g. Angular re-rendered it), the element is located again once and the action retried.
+     */
+    protected <T> T withElement(By locator, Function<By, WebElement> lookup, Function<WebElement, T> action) {
+        try {
+            return action.apply(lookup.apply(locator));
+        } catch (StaleElementReferenceException e) {
+            logger.debug("Stale element for {}. Locating it again.", locator);
+            elementCache.remove(locator);
+            return action.apply(lookup.apply(locator));
+        }
+    }
+
+    /**
+     * Forgets all cached elements. Called whenever an action navigates away.
+     */
+    protected void invalidateElementCache() {
+        elementCache.clear();
+    }
+
+    private WebElement remember(By locator, WebElement element) {
+        elementCache.put(locator, element);
+        return element;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
     // ===== Common Actions =====
     protected void click(By locator) {
-        logger.info("Clicking element: {}", locator.toString());
-        wait.until(ExpectedConditions.elementToBeClickable(locator)).click();
-        logger.info("Clicked element: {}", locator.toString());
+        withElement(locator, this::clickableElement, element -> {
+            element.click();
+            return null;
+        });
+        logger.debug("Clicked element: {}", locator);
     }
 
     protected void type(By locator, String text) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator)).sendKeys(text);
+        withElement(locator, this::visibleElement, element -> {
+            element.sendKeys(text);
+            return null;
+        });
 
-        String locatorString = locator.toString().toLowerCase();
-        boolean isSensitive = sensitiveKeywords.stream().anyMatch(locatorString::contains);
-
-        if (isSensitive) {
-            logger.info("Typed '[PROTECTED]' into element: {}", locator.toString());
+        if (isSensitive(locator)) {
+            logger.info("Typed '[PROTECTED]' into element: {}", locator);
         } else {
-            logger.info("Typed '{}' into element: {}", text, locator.toString());
+            logger.info("Typed '{}' into element: {}", text, locator);
         }
     }
 
+    /**
+     * Whether text typed into the locator must be masked in logs.
+     * Decided once per locator; later calls are a map lookup.
+     */
+    private static boolean isSensitive(By locator) {
+        return sensitiveLocators.computeIfAbsent(locator, key -> {
+            String locatorString = key.toString().toLowerCase();
+            return sensitiveKeywords.stream().anyMatch(locatorString::contains);
+        });
+    }
+
     protected String getText(By locator) {
         logger.info("Retrieving text from element: {}", locator.toString());
-        String text = wait.until(ExpectedConditions.visibilityOfElementLocated(locator)).getText();
+        String text = withElement(locator, this::visibleElement, WebElement::getText);
         logger.info("Text retrieved: '{}'", text);
         return text;
     }
 
+    // ===== Bulk Queries (one script call per list, regardless of its length) =====
+
+    /**
+     * Returns the visible text of every element matching the locator in one round trip.
+     *
+     * @param locator elements to read
+     * @return trimmed texts in document order
+     */
+    @SuppressWarnings("unchecked")
+    protected List<String> getTexts(By locator) {
+        Object[] args = ScriptLocator.of(driver, locator);
+        List<String> texts = (List<String>) ((JavascriptExecutor) driver).executeScript(
+                ScriptLocator.FUNCTIONS + "return sfdFind(arguments[0], arguments[1]).map(sfdText);", args[0], args[1]);
+        logger.debug("Retrieved {} texts for: {}", texts.size(), locator);
+        return texts;
+    }
+
     /**
-     * Safe click method that waits for spinner overlay to disappear
-     * and retries with JavaScript click if intercepted.
+     * Returns an attribute (or DOM property, as WebElement.getAttribute does)
+     * of every element matching the locator in one round trip.
+     *
+     * @param locator   elements to read
+     * @param attribute attribute or property name
+     * @return values in document order (null where absent)
+     */
+    @SuppressWarnings("unchecked")
+    protected List<String> getAttributes(By locator, String attribute) {
+        Object[] args = ScriptLocator.of(driver, locator);
+        List<Object> values = (List<Object>) ((JavascriptExecutor) driver).executeScript(
+                ScriptLocator.FUNCTIONS
+                + "var name = arguments[2];"
+                + "return sfdFind(arguments[0], arguments[1]).map(function (el) {"
+                + "  var v = el[name]; if (v === undefined || v === null || typeof v === 'object') {"
+                + "    v = el.getAttribute(name); }"
+                + "  return v === null || v === undefined ? null : String(v); });",
+                args[0], args[1], attribute);
+        return values.stream().map(value -> value == null ? null : value.toString()).collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the first element whose trimmed text equals the given text (ignoring case)
+     * and clicks it, entirely inside the browser.
+     *
+     * @param locator candidate elements, e.g. typeahead results
+     * @param text    text to match
+     * @return true if an element was found and clicked
+     */
+    protected boolean clickFirstWithText(By locator, String text) {
+        Object[] args = ScriptLocator.of(driver, locator);
+        Boolean clicked = (Boolean) ((JavascriptExecutor) driver).executeScript(
+                ScriptLocator.FUNCTIONS
+                + "var wanted = arguments[2].trim().toLowerCase();"
+                + "var match = sfdFind(arguments[0], arguments[1]).find(function (el) {"
+                + "  return sfdText(el).toLowerCase() === wanted; });"
+                + "if (!match) { return false; }"
+                + "match.scrollIntoView({ block: 'center' });"
+                + "match.click();"
+                + "return true;",
+                args[0], args[1], text);
+        logger.info("Click on first element with text '{}' in {}: {}", text, locator, clicked);
+        return Boolean.TRUE.equals(clicked);
+    }
+
+    /**
+     * Safe click method that waits for the page to be quiet (spinner overlay gone,
+     * requests and animations finished) and retries with JavaScript click if intercepted.
      */
     public void safeClick(By locator) {
         try {
             logger.info("Attempting safe click on element: {}", locator.toString());
-            waitForElementToDisappear(spinnerLocator);
+            waitForPageToBeQuiet();
             click(locator);
             logger.info("Safe click succeeded on element: {}", locator.toString());
         } catch (ElementClickInterceptedException e) {
             logger.warn("Click intercepted by overlay for '{}'. Retrying with JS click.", locator.toString());
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", driver.findElement(locator));
+            withElement(locator, this::find,
+                    element -> ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element));
             logger.info("JS click succeeded on element: {}", locator.toString());
         }
     }
 
     // ===== Navigation =====
+
+    /**
+     * Marks a page-object transition for the front-end metrics (see PageMetrics).
+     * Call it right before the click or navigation that leaves the current page.
+     *
+     * @param name transition, e.g. "LoginPage.login"
+     */
+    protected void pageTransition(String name) {
+        PageMetrics.get().transition(driver, name);
+    }
+
     public CartSectionPage goToCartPage() {
         logger.info("Navigating to Cart page...");
+        pageTransition("BasePage.goToCartPage");
         safeClick(btnCart);
+        invalidateElementCache();
         logger.info("Navigation to Cart page successful.");
         return new CartSectionPage(driver);
     }
@@ -0,0 +1,214 @@
+package Ecommerce.AbstractComponent;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FrameworkConfig
+ * ---------------
+ * Typed, immutable view of GlobalData.properties, loaded once per JVM.
+ *
+ * Lookup order for every key (first match wins):
+ *   1. System property           (-Dbrowser=chrome)
+ *   2. Environment variable      (SFD_BROWSER=chrome; dots become underscores: SFD_DRIVER_POOL_MAXUSES)
+ *   3. GlobalData.properties     (classpath, falling back to src/main/resources)
+ *
+ * All three sources are captured when the configuration is first used,
+ * so later reads never touch the file system.
+ */
+public final class FrameworkConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FrameworkConfig.class);
+
+    private static final String FILE_NAME = "GlobalData.properties";
+
+    private final Map<String, String> systemProperties;
+    private final Map<String, String> environment;
+    private final Map<String, String> fileProperties;
+
+    private FrameworkConfig(Map<String, String> systemProperties, Map<String, String> environment,
+            Map<String, String> fileProperties) {
+        this.systemProperties = systemProperties;
+        this.environment = environment;
+        this.fileProperties = fileProperties;
+    }
+
+    // Lazy, thread-safe singleton (holder idiom)
+    private static final class Holder {
+        private static final FrameworkConfig INSTANCE = load();
+    }
+
+    /**
+     * Returns the shared configuration instance.
+     *
+     * @return FrameworkConfig loaded once per JVM
+     */
+    public static FrameworkConfig get() {
+        return Holder.INSTANCE;
+    }
+
+    // ===== Generic accessors =====
+
+    public String getString(String key, String defaultValue) {
+        String value = systemProperties.get(key);
+        if (value == null) {
+            value = environment.get(toEnvironmentName(key));
+        }
+        if (value == null) {
+            value = fileProperties.get(key);
+        }
+        return value == null ? defaultValue : value.trim();
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = getString(key, null);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer '{}' for '{}'. Using default {}.", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = getString(key, null);
+        try {
+            return value == null ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid number '{}' for '{}'. Using default {}.", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = getString(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Reads a comma separated value as a trimmed, non-empty list.
+     */
+    public List<String> getList(String key, String defaultValue) {
+        String value = getString(key, defaultValue);
+        if (value == null || value.isBlank()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Resolves a configured path against the project directory (user.dir).
+     */
+    public Path getPath(String key, String defaultValue) {
+        return Paths.get(System.getProperty("user.dir")).resolve(getString(key, defaultValue));
+    }
+
+    // ===== Typed settings =====
+
+    public String browser() {
+        return getString("browser", "chrome");
+    }
+
+    /**
+     * URL of the shop's web client, e.g. https://rahulshettyacademy.com/client.
+     * With stub.enabled=true it is the client of the local stand-in shop.
+     */
+    public String baseUrl() {
+        return stubEnabled() ? stubUrl() + "/client" : getString("baseUrl", "https://rahulshettyacademy.com/client");
+    }
+
+    /**
+     * URL of the shop's REST API, e.g. https://rahulshettyacademy.com/api/ecom.
+     * With stub.enabled=true it is the API of the local stand-in shop.
+     */
+    public String apiBaseUrl() {
+        return stubEnabled() ? stubUrl() + "/api/ecom"
+                : getString("apiBaseUrl", "https://rahulshettyacademy.com/api/ecom");
+    }
+
+    /**
+     * Whether the suite runs against the local stand-in shop (stub.enabled)
+     * instead of baseUrl/apiBaseUrl.
+     */
+    public boolean stubEnabled() {
+        return getBoolean("stub.enabled", false);
+    }
+
+    /**
+     * Root URL of the local stand-in shop, e.g. http://localhost:8765
+     */
+    public String stubUrl() {
+        return "http://localhost:" + getInt("stub.port", 8765);
+    }
+
+    public List<String> sensitiveFields() {
+        return getList("sensitiveFields", "password,card,cvv,ssn").stream()
+                .map(field -> field.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public Path testDataFile() {
+        return getPath("testData", "src/main/resources/JSonData");
+    }
+
+    public Path reportFile() {
+        return getPath("report.path", "reports/index.html");
+    }
+
+    public Path screenshotDir() {
+        return getPath("screenshot.dir", "reports/screenshots");
+    }
+
+    // ===== Loading =====
+
+    private static FrameworkConfig load() {
+        Properties file = new Properties();
+        try (InputStream in = openPropertiesFile()) {
+            file.load(in);
+        } catch (IOException e) {
+            logger.warn("Could not load {}. Using defaults: {}", FILE_NAME, e.getMessage());
+        }
+
+        Map<String, String> fileProperties = new HashMap<>();
+        file.stringPropertyNames().forEach(name -> fileProperties.put(name, file.getProperty(name)));
+
+        Map<String, String> systemProperties = new HashMap<>();
+        System.getProperties().stringPropertyNames()
+                .forEach(name -> systemProperties.put(name, System.getProperty(name)));
+
+        logger.info("Configuration loaded from {} ({} keys).", FILE_NAME, fileProperties.size());
+        return new FrameworkConfig(Map.copyOf(systemProperties), Map.copyOf(System.getenv()),
+                Map.copyOf(fileProperties));
+    }
+
+    private static InputStream openPropertiesFile() throws IOException {
+        InputStream in = FrameworkConfig.class.getClassLoader().getResourceAsStream(FILE_NAME);
+        if (in != null) {
+            return in;
+        }
+        return new FileInputStream(Paths.get(System.getProperty("user.dir"),
+                "src", "main", "resources", FILE_NAME).toFile());
+    }
+
+    private static String toEnvironmentName(String key) {
+        // Prefixed so that generic variables such as BROWSER or PATH never leak into the framework
+        return "SFD_" + key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,87 @@
+package Ecommerce.AbstractComponent;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * ObserverWait
+ * ------------
+ * Event-driven wait engine (wait.engine=observer in GlobalData.properties).
+ *
+ * Instead of polling the driver every 500 ms, a single executeAsyncScript call
+ * installs a MutationObserver and returns as soon as the condition holds.
+ * CSS transitions and animations change visibility without DOM mutations,
+ * so transitionend/animationend events and a 100 ms in-browser check cover those.
+ * Only one WebDriver round trip is spent per wait.
+ */
+final class ObserverWait {
+
+    static final String VISIBLE = "visible";
+    static final String CLICKABLE = "clickable";
+    static final String INVISIBLE = "invisible";
+
+    private static final String AWAIT_SCRIPT = ScriptLocator.FUNCTIONS
+            + "var done = arguments[arguments.length - 1];"
+            + "var kind = arguments[0], value = arguments[1], cond = arguments[2], timeout = arguments[3];"
+            + "function holds() {"
+            + "  var el = sfdFind(kind, value)[0];"
+            + "  if (cond === 'invisible') { return !el || !sfdVisible(el); }"
+            + "  if (!sfdVisible(el)) { return false; }"
+            + "  return cond !== 'clickable' || !el.disabled;"
+            + "}"
+            + "if (holds()) { done(true); return; }"
+            + "var finished = false, observer, tick, timer;"
+            + "function finish(result) {"
+            + "  if (finished) { return; } finished = true;"
+            + "  observer.disconnect(); clearInterval(tick); clearTimeout(timer);"
+            + "  document.removeEventListener('transitionend', check, true);"
+            + "  document.removeEventListener('animationend', check, true);"
+            + "  done(result);"
+            + "}"
+            + "function check() { if (holds()) { finish(true); } }"
+            + "observer = new MutationObserver(check);"
+            + "observer.observe(document.documentElement,"
+            + "    { childList: true, subtree: true, attributes: true, characterData: true });"
+            + "document.addEventListener('transitionend', check, true);"
+            + "document.addEventListener('animationend', check, true);"
+            + "tick = setInterval(check, 100);"
+            + "timer = setTimeout(function () { finish(holds()); }, timeout);";
+
+    // Sessions whose script timeout already allows the longest wait
+    private static final Set<WebDriver> configuredDrivers = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private ObserverWait() {
+    }
+
+    /**
+     * Waits in the browser until the condition holds for the first element of the locator.
+     *
+     * @param driver     browser session
+     * @param locatorArgs (kind, value) from ScriptLocator.expressible()
+     * @param condition  VISIBLE, CLICKABLE or INVISIBLE
+     * @param timeout    maximum wait
+     * @return true if the condition held before the timeout
+     */
+    static boolean await(WebDriver driver, Object[] locatorArgs, String condition, Duration timeout) {
+        ensureScriptTimeout(driver);
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT,
+                locatorArgs[0], locatorArgs[1], condition, timeout.toMillis());
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Raises the session's script timeout once, so in-browser waits are ended by
+     * their own timers; the driver timeout only guards against a hung page.
+     */
+    static void ensureScriptTimeout(WebDriver driver) {
+        if (configuredDrivers.add(driver)) {
+            driver.manage().timeouts().scriptTimeout(Duration.ofMinutes(2));
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package Ecommerce.AbstractComponent;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * PageMetrics
+ * -----------
+ * Front-end performance samples taken at every page-object transition
+ * (LoginPage.goTo(), login(), goToCartPage(), checkout(), submitOrder(), ...).
+ *
+ * A transition closes the sample of the page shown so far and starts a new one named
+ * after the transition, so each sample covers what the browser did from one transition
+ * to the next: the resources it loaded, long tasks and layout shifts, and, for the first
+ * sample of a document, its Navigation Timing and Largest Contentful Paint.
+ * The last sample of a test is closed by finish().
+ *
+ * Data comes from the browser's performance APIs (Navigation/Resource Timing and
+ * PerformanceObserver for largest-contentful-paint, layout-shift and longtask, where the
+ * browser supports them), read by one script call per transition.
+ * Long tasks cannot be read back after the fact, so attach() registers the observers to
+ * run at the start of every document (CDP, Chromium). Where that is not possible the
+ * observers start with the first sample, and that sample reports long tasks as
+ * unavailable (null) instead of 0.
+ * Samples of the current thread's test are kept until finish(); appendToRunFile()
+ * writes them to metrics.dir/page-metrics-<run>.jsonl. metrics.enabled=false turns it off.
+ */
+public final class PageMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageMetrics.class);
+
+    private static final PageMetrics instance = new PageMetrics();
+
+    // Installs the observers once per document; from document start when attach() registered it
+    private static final String OBSERVER_SCRIPT =
+            "(function () {"
+            + "  if (window.__sfdPerf) { return; }"
+            + "  var p = window.__sfdPerf = { lcp: null, cls: 0, clsReported: 0, longTasks: [], longTasksReported: 0,"
+            + "                               resourcesReported: 0, navigationReported: false };"
+            + "  if (performance.setResourceTimingBufferSize) { performance.setResourceTimingBufferSize(2000); }"
+            + "  var types = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];"
+            + "  var watch = function (type, handle) {"
+            + "    if (types.indexOf(type) < 0) { return; }"
+            + "    var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(handle); });"
+            + "    observer.observe({ type: type, buffered: true });"
+            + "    observer.takeRecords().forEach(handle);"
+            + "  };"
+            + "  watch('largest-contentful-paint', function (e) { p.lcp = e.renderTime || e.startTime; });"
+            + "  watch('layout-shift', function (e) { if (!e.hadRecentInput) { p.cls += e.value; } });"
+            + "  watch('longtask', function (e) { p.longTasks.push(e.duration); });"
+            + "  p.longTasksObserved = types.indexOf('longtask') >= 0;"
+            + "})();";
+
+    // Long tasks are not buffered: observers installed only now missed the document's load
+    private static final String SAMPLE_SCRIPT =
+            "var installedLate = !window.__sfdPerf;"
+            + OBSERVER_SCRIPT
+            + "var p = window.__sfdPerf;"
+            + "if (installedLate) { p.longTasksPartial = true; }"
+            + "var r = Math.round, sample = { url: location.href };"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (nav && !p.navigationReported) {"
+            + "  p.navigationReported = true;"
+            + "  sample.navigation = { type: nav.type, dnsMs: r(nav.domainLookupEnd - nav.domainLookupStart),"
+            + "    connectMs: r(nav.connectEnd - nav.connectStart), ttfbMs: r(nav.responseStart),"
+            + "    domInteractiveMs: r(nav.domInteractive), domContentLoadedMs: r(nav.domContentLoadedEventEnd),"
+            + "    loadMs: r(nav.loadEventEnd), transferBytes: nav.transferSize || 0 };"
+            + "  sample.lcpMs = p.lcp === null ? null : r(p.lcp);"
+            + "}"
+            + "var resources = performance.getEntriesByType('resource').slice(p.resourcesReported);"
+            + "p.resourcesReported += resources.length;"
+            + "var summary = { count: resources.length, transferBytes: 0, totalMs: 0, slowestMs: 0, slowest: null,"
+            + "                byType: {} };"
+            + "resources.forEach(function (e) {"
+            + "  summary.transferBytes += e.transferSize || 0;"
+            + "  summary.totalMs += e.duration;"
+            + "  summary.byType[e.initiatorType] = (summary.byType[e.initiatorType] || 0) + 1;"
+            + "  if (e.duration > summary.slowestMs) { summary.slowestMs = e.duration; summary.slowest = e.name; }"
+            + "});"
+            + "summary.totalMs = r(summary.totalMs); summary.slowestMs = r(summary.slowestMs);"
+            + "sample.resources = summary;"
+            + "var tasks = p.longTasks.slice(p.longTasksReported);"
+            + "p.longTasksReported = p.longTasks.length;"
+            + "sample.longTasks = !p.longTasksObserved || p.longTasksPartial ? null : { count: tasks.length,"
+            + "  totalMs: r(tasks.reduce(function (a, b) { return a + b; }, 0)),"
+            + "  maxMs: r(tasks.reduce(function (a, b) { return Math.max(a, b); }, 0)) };"
+            + "p.longTasksPartial = false;"
+            + "sample.cls = Math.round((p.cls - p.clsReported) * 10000) / 10000;"
+            + "p.clsReported = p.cls;"
+            + "return sample;";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final boolean enabled;
+
+    // Open sample and finished samples of the test running on the current thread
+    private final ThreadLocal<Transition> current = new ThreadLocal<>();
+    private final ThreadLocal<List<Map<String, Object>>> samples = ThreadLocal.withInitial(ArrayList::new);
+
+    private PageMetrics() {
+        enabled = FrameworkConfig.get().getBoolean("metrics.enabled", true);
+    }
+
+    public static PageMetrics get() {
+        return instance;
+    }
+
+    /**
+     * Installs the performance observers at the start of every document of a new
+     * Chromium session, so long tasks during page loads are seen. Other drivers are ignored.
+     *
+     * @param driver new browser session
+     */
+    public void attach(WebDriver driver) {
+        if (!enabled || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<Map<String, Object>>("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", OBSERVER_SCRIPT), input -> input.read(Json.MAP_TYPE)));
+        } catch (RuntimeException e) {
+            logger.debug("Page metrics observers not installed through CDP: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the sample of the page shown so far and starts one for the given transition.
+     * Call it right before the action that leaves the page (click, driver.get()).
+     *
+     * @param driver browser session of the current test
+     * @param name   transition, e.g. "LoginPage.login"
+     */
+    public void transition(WebDriver driver, String name) {
+        if (!enabled) {
+            return;
+        }
+        close(driver);
+        current.set(new Transition(name, System.currentTimeMillis()));
+    }
+
+    /**
+     * Closes the last sample of the test on the current thread and hands out all its samples.
+     *
+     * @param driver browser session of the test, or null if it has none
+     * @return samples in transition order; empty when nothing was measured
+     */
+    public List<Map<String, Object>> finish(WebDriver driver) {
+        if (driver != null) {
+            close(driver);
+        }
+        current.remove();
+        List<Map<String, Object>> finished = samples.get();
+        samples.remove();
+        return finished;
+    }
+
+    /**
+     * Forgets samples left on the current thread, e.g. by a test that never finished.
+     */
+    public void reset() {
+        current.remove();
+        samples.remove();
+    }
+
+    /**
+     * Appends the samples of one test to this run's metrics file, one JSON line per sample.
+     *
+     * @param testId  test the samples belong to
+     * @param results samples returned by finish()
+     */
+    public void appendToRunFile(String testId, List<Map<String, Object>> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        Path file = runFile();
+        synchronized (this) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (Map<String, Object> sample : results) {
+                        Map<String, Object> line = new LinkedHashMap<>();
+                        line.put("testId", testId);
+                        line.putAll(sample);
+                        writer.write(mapper.writeValueAsString(line));
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Could not write page metrics to {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Metrics file of this run: metrics.dir/page-metrics-<sfd.runId>[-<worker>].jsonl
+     */
+    public Path runFile() {
+        String worker = System.getProperty("sfd.worker.id");
+        String name = "page-metrics-" + System.getProperty("sfd.runId", "default")
+                + (worker == null ? "" : "-" + worker) + ".jsonl";
+        return FrameworkConfig.get().getPath("metrics.dir", "reports/metrics").resolve(name);
+    }
+
+    // ===== Helpers =====
+
+    @SuppressWarnings("unchecked")
+    private void close(WebDriver driver) {
+        Transition open = current.get();
+        if (open == null || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        current.remove();
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(SAMPLE_SCRIPT);
+            Map<String, Object> sample = new LinkedHashMap<>();
+            sample.put("transition", open.name);
+            sample.put("startMillis", open.startMillis);
+            sample.put("durationMs", System.currentTimeMillis() - open.startMillis);
+            if (result instanceof Map) {
+                sample.putAll(new TreeMap<>((Map<String, Object>) result));
+            }
+            samples.get().add(sample);
+            logger.debug("Page metrics for {}: {}", open.name, sample);
+        } catch (WebDriverException e) {
+            logger.debug("Page metrics for {} not available: {}", open.name, e.getMessage());
+        }
+    }
+
+    private record Transition(String name, long startMillis) {
+    }
+}
@@ -0,0 +1,94 @@
+package Ecommerce.AbstractComponent;
+
+import java.time.Duration;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * QuietWait
+ * ---------
+ * One "page is quiet" wait that replaces the stacked spinner, toast and
+ * ng-animating polling loops. The page is quiet when, for a short settle window:
+ *   - every Angular testability reports stable (whenStable also covers zone-tracked XHR)
+ *   - no fetch/XHR started after instrumentation is still in flight
+ *   - no finite CSS animation or transition is running
+ *   - no ngx-spinner overlay and no ng-animating element is visible
+ *
+ * The instrumentation is injected on first use in each document and the whole
+ * wait runs in the browser, so it costs one WebDriver round trip.
+ */
+final class QuietWait {
+
+    private static final String QUIET_SCRIPT = ScriptLocator.FUNCTIONS
+            + "var done = arguments[arguments.length - 1];"
+            + "var timeout = arguments[0], settle = arguments[1];"
+            // Count in-flight fetch/XHR calls (installed once per document)
+            + "var q = window.__sfdQuiet;"
+            + "if (!q) {"
+            + "  q = window.__sfdQuiet = { inflight: 0 };"
+            + "  if (window.fetch) {"
+            + "    var origFetch = window.fetch;"
+            + "    window.fetch = function () {"
+            + "      q.inflight++;"
+            + "      return origFetch.apply(this, arguments).finally(function () { q.inflight--; });"
+            + "    };"
+            + "  }"
+            + "  var origSend = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function () {"
+            + "    q.inflight++;"
+            + "    this.addEventListener('loadend', function () { q.inflight--; }, { once: true });"
+            + "    return origSend.apply(this, arguments);"
+            + "  };"
+            + "}"
+            + "function angularStable() {"
+            + "  if (!window.getAllAngularTestabilities) { return true; }"
+            + "  return window.getAllAngularTestabilities().every(function (t) { return t.isStable(); });"
+            + "}"
+            + "function animating() {"
+            + "  if (!document.getAnimations) { return false; }"
+            + "  return document.getAnimations().some(function (a) {"
+            + "    return a.playState === 'running' && a.effect"
+            + "        && isFinite(a.effect.getComputedTiming().endTime);"
+            + "  });"
+            + "}"
+            + "function overlay() {"
+            + "  return sfdFind('css', \"[class*='ngx-spinner-overlay'], [class*='ng-animating']\")"
+            + "      .some(sfdVisible);"
+            + "}"
+            + "function busy() {"
+            + "  if (q.inflight > 0) { return 'requests in flight: ' + q.inflight; }"
+            + "  if (!angularStable()) { return 'Angular not stable'; }"
+            + "  if (animating()) { return 'animations running'; }"
+            + "  if (overlay()) { return 'spinner or ng-animating visible'; }"
+            + "  return null;"
+            + "}"
+            + "var start = Date.now(), quietSince = null;"
+            + "(function check() {"
+            + "  var reason = busy(), now = Date.now();"
+            + "  if (reason === null) {"
+            + "    if (quietSince === null) { quietSince = now; }"
+            + "    if (now - quietSince >= settle) { done(null); return; }"
+            + "  } else { quietSince = null; }"
+            + "  if (now - start >= timeout) { done(reason || 'not quiet long enough'); return; }"
+            + "  setTimeout(check, 25);"
+            + "})();";
+
+    private QuietWait() {
+    }
+
+    /**
+     * Waits in the browser until the page is quiet.
+     *
+     * @param driver  browser session
+     * @param timeout maximum wait
+     * @param settle  how long the page must stay quiet
+     * @return null when quiet, otherwise what was still busy at the timeout
+     */
+    static String await(WebDriver driver, Duration timeout, Duration settle) {
+        ObserverWait.ensureScriptTimeout(driver);
+        Object result = ((JavascriptExecutor) driver).executeAsyncScript(QUIET_SCRIPT,
+                timeout.toMillis(), settle.toMillis());
+        return result == null ? null : result.toString();
+    }
+}
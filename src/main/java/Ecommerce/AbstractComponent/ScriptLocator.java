@@ -0,0 +1,88 @@
+package Ecommerce.AbstractComponent;
+
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * ScriptLocator
+ * -------------
+ * Translates a Selenium By into arguments that injected scripts can evaluate
+ * inside the browser, and provides the shared JavaScript helper functions:
+ *
+ *   sfdFind(kind, value) -> array of matching elements in document order
+ *   sfdText(el)          -> trimmed visible text (like WebElement.getText())
+ *   sfdVisible(el)       -> displayed check (like WebElement.isDisplayed())
+ */
+final class ScriptLocator {
+
+    static final String FUNCTIONS =
+            "function sfdFind(kind, value) {"
+            + "  if (kind === 'elements') { return value; }"
+            + "  if (kind === 'xpath') {"
+            + "    var r = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    var out = []; for (var i = 0; i < r.snapshotLength; i++) { out.push(r.snapshotItem(i)); }"
+            + "    return out;"
+            + "  }"
+            + "  var css = kind === 'id' ? '#' + CSS.escape(value)"
+            + "      : kind === 'className' ? '.' + CSS.escape(value)"
+            + "      : kind === 'name' ? '[name=\"' + CSS.escape(value) + '\"]'"
+            + "      : value;"
+            + "  return Array.prototype.slice.call(document.querySelectorAll(css));"
+            + "}"
+            + "function sfdText(el) { return (el.innerText || el.textContent || '').trim(); }"
+            + "function sfdVisible(el) {"
+            + "  if (!el || !el.isConnected) { return false; }"
+            + "  for (var e = el; e && e.nodeType === 1; e = e.parentElement) {"
+            + "    var s = window.getComputedStyle(e);"
+            + "    if (s.display === 'none' || parseFloat(s.opacity) === 0) { return false; }"
+            + "  }"
+            + "  if (window.getComputedStyle(el).visibility !== 'visible') { return false; }"
+            + "  var r = el.getBoundingClientRect();"
+            + "  return r.width > 0 && r.height > 0;"
+            + "}";
+
+    private ScriptLocator() {
+    }
+
+    /**
+     * Returns (kind, value) for locators the scripts can evaluate themselves,
+     * or null for locators they cannot express (e.g. linkText, relative locators).
+     */
+    static Object[] expressible(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (!description.startsWith("By.") || separator < 0) {
+            return null;
+        }
+        String kind = description.substring(3, separator);
+        String value = description.substring(separator + 2);
+        switch (kind) {
+            case "cssSelector":
+            case "tagName":
+                return new Object[] { "css", value };
+            case "xpath":
+            case "id":
+            case "className":
+            case "name":
+                return new Object[] { kind, value };
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns (kind, value) for any locator. Locators the scripts cannot express
+     * are resolved with one findElements call and passed as an element list.
+     */
+    static Object[] of(WebDriver driver, By locator) {
+        Object[] args = expressible(locator);
+        if (args != null) {
+            return args;
+        }
+        List<WebElement> elements = driver.findElements(locator);
+        return new Object[] { "elements", elements };
+    }
+}
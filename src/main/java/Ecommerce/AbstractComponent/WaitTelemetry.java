@@ -0,0 +1,332 @@
+package Ecommerce.AbstractComponent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * WaitTelemetry
+ * -------------
+ * Records how long every BasePage wait took, per page class, locator and condition,
+ * and keeps the most recent samples across runs in wait.history.
+ *
+ * With wait.adaptive=true the timeout of a wait is learned from its history:
+ *   p99.9 of observed durations x wait.safetyFactor, clamped to [wait.floorMs, wait.ceilingMs],
+ * once at least wait.minSamples waits were seen (timed-out waits count at the time waited). Otherwise the default
+ * 10 second timeout applies.
+ *
+ * At suite end writeReport() lists the waits that cost the most time in total.
+ * Worker JVMs of a multi-JVM run write only their own waits (writeRun()); the
+ * coordinator merges them (mergeRun()) and saves the history and report once.
+ */
+public final class WaitTelemetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WaitTelemetry.class);
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final WaitTelemetry instance = new WaitTelemetry();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, WaitStats> stats = new ConcurrentHashMap<>();
+
+    private final boolean adaptive;
+    private final double safetyFactor;
+    private final long floorMillis;
+    private final long ceilingMillis;
+    private final int minSamples;
+    private final int maxSamples;
+
+    private WaitTelemetry() {
+        FrameworkConfig config = FrameworkConfig.get();
+        adaptive = config.getBoolean("wait.adaptive", false);
+        safetyFactor = Double.parseDouble(config.getString("wait.safetyFactor", "3.0"));
+        floorMillis = config.getLong("wait.floorMs", 2000);
+        ceilingMillis = config.getLong("wait.ceilingMs", 30000);
+        minSamples = config.getInt("wait.minSamples", 30);
+        maxSamples = config.getInt("wait.history.maxSamples", 500);
+        load();
+    }
+
+    public static WaitTelemetry get() {
+        return instance;
+    }
+
+    /**
+     * Returns the timeout for a wait: learned from history when adaptive timeouts
+     * are enabled and enough samples exist, otherwise the default timeout.
+     */
+    public Duration timeoutFor(String page, String target, String condition) {
+        if (!adaptive) {
+            return DEFAULT_TIMEOUT;
+        }
+        WaitStats waitStats = stats.get(key(page, target, condition));
+        if (waitStats == null) {
+            return DEFAULT_TIMEOUT;
+        }
+        long[] samples = waitStats.snapshot();
+        if (samples.length < minSamples) {
+            return DEFAULT_TIMEOUT;
+        }
+        long learned = (long) (percentile(samples, 99.9) * safetyFactor);
+        return Duration.ofMillis(Math.max(floorMillis, Math.min(ceilingMillis, learned)));
+    }
+
+    /**
+     * Records one wait.
+     *
+     * @param page      simple name of the page object class
+     * @param target    locator description, or a label such as "page quiet"
+     * @param condition visible, clickable, invisible, quiet
+     * @param millis    time spent waiting
+     * @param met       false if the wait timed out
+     */
+    public void record(String page, String target, String condition, long millis, boolean met) {
+        stats.computeIfAbsent(key(page, target, condition), k -> new WaitStats()).add(millis, met, maxSamples);
+    }
+
+    /**
+     * Saves the recent samples of every wait to the history file.
+     */
+    public void persist() {
+        File file = historyFile();
+        Map<String, HistoryEntry> history = new LinkedHashMap<>();
+        stats.forEach((key, waitStats) -> history.put(key, waitStats.toHistory()));
+        try {
+            file.getParentFile().mkdirs();
+            mapper.writeValue(file, history);
+            logger.info("Wait history saved for {} waits: {}", history.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save wait history {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the waits recorded by this JVM's run (not the loaded history) to the given file.
+     *
+     * @param file run file, read back by mergeRun()
+     */
+    public void writeRun(File file) {
+        Map<String, RunEntry> run = new LinkedHashMap<>();
+        stats.forEach((key, waitStats) -> {
+            if (waitStats.runCount > 0) {
+                run.put(key, waitStats.toRun());
+            }
+        });
+        try {
+            file.getParentFile().mkdirs();
+            mapper.writeValue(file, run);
+            logger.info("Waits of this run saved for {} waits: {}", run.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save waits of this run {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the waits of another JVM's run, written by writeRun(), to this run.
+     *
+     * @param file run file of the other JVM; ignored if missing
+     */
+    public void mergeRun(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            Map<String, RunEntry> run = mapper.readValue(file, new TypeReference<Map<String, RunEntry>>() {});
+            run.forEach((key, entry) -> stats.computeIfAbsent(key, k -> new WaitStats()).merge(entry, maxSamples));
+            logger.debug("Merged {} waits from {}", run.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not read waits of {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the waits of this run ordered by total time spent (reports/wait-report.csv)
+     * and logs the slowest ones.
+     *
+     * @param reportDir directory of the HTML report
+     * @param top       number of waits to log
+     */
+    public void writeReport(File reportDir, int top) {
+        List<Map.Entry<String, WaitStats>> entries = new ArrayList<>();
+        stats.forEach((key, waitStats) -> {
+            if (waitStats.runCount > 0) {
+                entries.add(Map.entry(key, waitStats));
+            }
+        });
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.sort(Comparator.comparingLong((Map.Entry<String, WaitStats> e) -> e.getValue().runTotalMillis)
+                .reversed());
+
+        File report = new File(reportDir, "wait-report.csv");
+        reportDir.mkdirs();
+        try (PrintWriter out = new PrintWriter(report, StandardCharsets.UTF_8)) {
+            out.println("page,target,condition,count,totalMs,maxMs,timeouts,p50Ms,p99_9Ms,timeoutMs");
+            for (Map.Entry<String, WaitStats> entry : entries) {
+                String[] parts = entry.getKey().split("\\|", 3);
+                WaitStats waitStats = entry.getValue();
+                long[] samples = waitStats.snapshot();
+                out.printf("%s,\"%s\",%s,%d,%d,%d,%d,%d,%d,%d%n", parts[0], parts[1].replace("\"", "\"\""),
+                        parts[2], waitStats.runCount, waitStats.runTotalMillis, waitStats.runMaxMillis,
+                        waitStats.runTimeouts, percentile(samples, 50), percentile(samples, 99.9),
+                        timeoutFor(parts[0], parts[1], parts[2]).toMillis());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write wait report {}: {}", report, e.getMessage());
+        }
+
+        logger.info("Slowest waits of this run (full list: {}):", report);
+        entries.stream().limit(top).forEach(entry -> logger.info("  {} ms total, {} waits, max {} ms - {}",
+                entry.getValue().runTotalMillis, entry.getValue().runCount, entry.getValue().runMaxMillis,
+                entry.getKey()));
+    }
+
+    // ===== Helpers =====
+
+    private static String key(String page, String target, String condition) {
+        return page + "|" + target + "|" + condition;
+    }
+
+    static long percentile(long[] samples, double percentile) {
+        if (samples.length == 0) {
+            return 0;
+        }
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private File historyFile() {
+        return FrameworkConfig.get().getPath("wait.history", ".wait-history/wait-history.json").toFile();
+    }
+
+    private void load() {
+        File file = historyFile();
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            Map<String, HistoryEntry> history = mapper.readValue(file,
+                    new TypeReference<Map<String, HistoryEntry>>() {});
+            history.forEach((key, entry) -> stats.put(key, WaitStats.fromHistory(entry)));
+            logger.debug("Wait history loaded for {} waits from {}", history.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not read wait history {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Persisted form of one wait: recent durations (timeouts at the time waited) and the timeout count.
+     */
+    public static class HistoryEntry {
+        public long[] samples = new long[0];
+        public long timeouts;
+    }
+
+    /**
+     * Waits of one JVM's run: its durations (timeouts at the time waited) and totals.
+     */
+    public static class RunEntry {
+        public long[] samples = new long[0];
+        public int count;
+        public long totalMillis;
+        public long maxMillis;
+        public int timeouts;
+    }
+
+    /**
+     * Samples of one wait: a bounded window of recent durations plus totals for this run.
+     */
+    private static final class WaitStats {
+        private final List<Long> samples = new ArrayList<>();
+        private final List<Long> runSamples = new ArrayList<>();
+        private long timeouts;
+        private int runCount;
+        private long runTotalMillis;
+        private long runMaxMillis;
+        private int runTimeouts;
+
+        synchronized void add(long millis, boolean met, int maxSamples) {
+            runCount++;
+            runTotalMillis += millis;
+            runMaxMillis = Math.max(runMaxMillis, millis);
+            if (!met) {
+                runTimeouts++;
+                timeouts++;
+            }
+            // A timeout is kept at the time waited, a lower bound of the real duration, so a
+            // slower environment raises the learned timeout instead of staying below it
+            addSample(millis, maxSamples);
+        }
+
+        synchronized void merge(RunEntry entry, int maxSamples) {
+            runCount += entry.count;
+            runTotalMillis += entry.totalMillis;
+            runMaxMillis = Math.max(runMaxMillis, entry.maxMillis);
+            runTimeouts += entry.timeouts;
+            timeouts += entry.timeouts;
+            for (long sample : entry.samples) {
+                addSample(sample, maxSamples);
+            }
+        }
+
+        private void addSample(long millis, int maxSamples) {
+            samples.add(millis);
+            if (samples.size() > maxSamples) {
+                samples.remove(0);
+            }
+            runSamples.add(millis);
+            if (runSamples.size() > maxSamples) {
+                runSamples.remove(0);
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return samples.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        synchronized HistoryEntry toHistory() {
+            HistoryEntry entry = new HistoryEntry();
+            entry.samples = snapshot();
+            entry.timeouts = timeouts;
+            return entry;
+        }
+
+        synchronized RunEntry toRun() {
+            RunEntry entry = new RunEntry();
+            entry.samples = runSamples.stream().mapToLong(Long::longValue).toArray();
+            entry.count = runCount;
+            entry.totalMillis = runTotalMillis;
+            entry.maxMillis = runMaxMillis;
+            entry.timeouts = runTimeouts;
+            return entry;
+        }
+
+        static WaitStats fromHistory(HistoryEntry entry) {
+            WaitStats waitStats = new WaitStats();
+            for (long sample : entry.samples) {
+                waitStats.samples.add(sample);
+            }
+            waitStats.timeouts = entry.timeouts;
+            return waitStats;
+        }
+    }
+}
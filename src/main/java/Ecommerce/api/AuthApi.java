@@ -0,0 +1,125 @@
+package Ecommerce.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * AuthApi
+ * -------
+ * Logs in through the shop's HTTP API instead of the login form.
+ *
+ * Tokens are cached per user until shortly before they expire, so a suite
+ * calls the login endpoint once per account instead of once per test.
+ */
+public final class AuthApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthApi.class);
+
+    // Tokens are not reused when they expire within this margin
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(2);
+
+    static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Map<String, AuthSession> sessions = new ConcurrentHashMap<>();
+
+    private AuthApi() {
+    }
+
+    /**
+     * Returns a valid session for the user, logging in over HTTP only when
+     * no cached token exists or the cached one is about to expire.
+     *
+     * @param userEmail    user email address
+     * @param userPassword user password
+     * @return AuthSession with token and user id
+     */
+    public static AuthSession login(String userEmail, String userPassword) {
+        return sessions.compute(cacheKey(userEmail, userPassword), (key, cached) ->
+                cached != null && cached.isValidFor(EXPIRY_MARGIN) ? cached : requestToken(userEmail, userPassword));
+    }
+
+    /**
+     * Base URL of the shop's REST API (apiBaseUrl in GlobalData.properties, see FrameworkConfig).
+     */
+    public static String apiBaseUrl() {
+        return FrameworkConfig.get().apiBaseUrl();
+    }
+
+    // ===== Helpers =====
+
+    private static AuthSession requestToken(String userEmail, String userPassword) {
+        logger.info("Logging in user '{}' through the API", userEmail);
+        try {
+            String body = mapper.writeValueAsString(Map.of("userEmail", userEmail, "userPassword", userPassword));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(apiBaseUrl() + "/auth/login"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() / 100 != 2) {
+                logger.error("API login failed for '{}' with HTTP {}", userEmail, response.statusCode());
+                throw new RuntimeException("API login failed for " + userEmail + ": HTTP " + response.statusCode());
+            }
+
+            JsonNode json = mapper.readTree(response.body());
+            String token = json.path("token").asText(null);
+            if (token == null || token.isEmpty()) {
+                throw new RuntimeException("API login returned no token for " + userEmail);
+            }
+            AuthSession session = new AuthSession(token, json.path("userId").asText(null), expiryOf(token));
+            logger.info("API login succeeded for '{}'. Token valid until {}", userEmail, session.getExpiresAt());
+            return session;
+        } catch (IOException e) {
+            throw new RuntimeException("API login failed for " + userEmail + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("API login interrupted for " + userEmail, e);
+        }
+    }
+
+    /**
+     * Reads the "exp" claim of a JWT; tokens without one get api.tokenTtlMinutes.
+     */
+    private static Instant expiryOf(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length >= 2) {
+            try {
+                JsonNode claims = mapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+                if (claims.has("exp")) {
+                    return Instant.ofEpochSecond(claims.get("exp").asLong());
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.debug("Token is not a readable JWT: {}", e.getMessage());
+            }
+        }
+        return Instant.now().plus(Duration.ofMinutes(FrameworkConfig.get().getLong("api.tokenTtlMinutes", 60)));
+    }
+
+    private static String cacheKey(String userEmail, String userPassword) {
+        // The password is part of the key so a wrong password never reuses a valid token
+        return userEmail + '\u0000' + Base64.getEncoder()
+                .encodeToString(userPassword.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,46 @@
+package Ecommerce.api;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * AuthSession
+ * -----------
+ * Token issued by the shop's login endpoint, with the user it belongs to
+ * and the moment it expires.
+ */
+public final class AuthSession {
+
+    private final String token;
+    private final String userId;
+    private final Instant expiresAt;
+
+    public AuthSession(String token, String userId, Instant expiresAt) {
+        this.token = token;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Tells whether the token is still valid for at least the given margin,
+     * so a test never starts with a token that expires halfway through.
+     *
+     * @param margin minimum remaining lifetime
+     * @return true if the token can be reused
+     */
+    public boolean isValidFor(Duration margin) {
+        return Instant.now().plus(margin).isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,199 @@
+package Ecommerce.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * CartApi
+ * -------
+ * Adds, lists and removes cart items through the shop's HTTP API,
+ * so tests that are not about the add-to-cart UI can seed the cart directly.
+ *
+ * The product catalogue (name -> product JSON) is fetched once per JVM.
+ */
+public final class CartApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartApi.class);
+
+    // Product name (lower case) -> product JSON as returned by the API
+    private static final Map<String, JsonNode> catalogue = new ConcurrentHashMap<>();
+
+    private final AuthSession session;
+
+    public CartApi(AuthSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Adds a product to the user's cart.
+     *
+     * @param productName name as shown in the catalogue, e.g. "ZARA COAT 3"
+     */
+    public void addProduct(String productName) {
+        JsonNode product = findProduct(productName);
+        send("POST", "/user/add-to-cart", Map.of("_id", session.getUserId(), "product", product));
+        logger.info("Added product '{}' to cart through the API", productName);
+    }
+
+    /**
+     * Removes a product from the user's cart.
+     *
+     * @param productName name as shown in the catalogue
+     */
+    public void removeProduct(String productName) {
+        JsonNode product = findProduct(productName);
+        send("DELETE", "/user/remove-from-cart/" + session.getUserId() + "/" + product.path("_id").asText(), null);
+        logger.info("Removed product '{}' from cart through the API", productName);
+    }
+
+    /**
+     * Returns the cart items as raw product JSON. An empty cart is reported by the
+     * shop as HTTP 404 ("No Product in Cart"), which is mapped to an empty list.
+     *
+     * @return products currently in the cart
+     */
+    public List<JsonNode> getCartProducts() {
+        HttpResponse<String> response = sendRaw("GET", "/user/get-cart-products/" + session.getUserId(), null);
+        List<JsonNode> products = new ArrayList<>();
+        if (response.statusCode() == 404) {
+            return products;
+        }
+        checkStatus("GET", "/user/get-cart-products", response);
+        readJson(response).path("products").forEach(products::add);
+        return products;
+    }
+
+    /**
+     * Removes every product from the cart. The delete calls are sent concurrently,
+     * so the cost stays at about two round trips regardless of the cart size.
+     * Fails if any delete call does not succeed, so no test starts from a stale cart.
+     */
+    public void emptyCart() {
+        List<JsonNode> products = getCartProducts();
+        if (products.isEmpty()) {
+            logger.debug("Cart already empty.");
+            return;
+        }
+
+        CompletableFuture<?>[] deletions = products.stream()
+                .map(product -> AuthApi.httpClient.sendAsync(
+                        request("DELETE", "/user/remove-from-cart/" + session.getUserId() + "/"
+                                + product.path("_id").asText(), null),
+                        HttpResponse.BodyHandlers.ofString())
+                        .thenAccept(response -> checkStatus("DELETE", "/user/remove-from-cart", response)))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(deletions).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Cart API call failed: DELETE /user/remove-from-cart: "
+                    + cause.getMessage(), cause);
+        }
+        logger.info("Emptied cart through the API ({} items removed)", products.size());
+    }
+
+    // ===== Helpers =====
+
+    private JsonNode findProduct(String productName) {
+        if (catalogue.isEmpty()) {
+            loadCatalogue();
+        }
+        JsonNode product = catalogue.get(productName.toLowerCase());
+        if (product == null) {
+            logger.error("Product '{}' not found through the API", productName);
+            throw new RuntimeException("Product not found: " + productName);
+        }
+        return product;
+    }
+
+    private void loadCatalogue() {
+        synchronized (catalogue) {
+            if (catalogue.isEmpty()) {
+                catalogue.putAll(fetchCatalogue());
+            }
+        }
+    }
+
+    private Map<String, JsonNode> fetchCatalogue() {
+        Map<String, Object> filter = new HashMap<>();
+        filter.put("productName", "");
+        filter.put("minPrice", null);
+        filter.put("maxPrice", null);
+        filter.put("productCategory", List.of());
+        filter.put("productSubCategory", List.of());
+        filter.put("productFor", List.of());
+
+        Map<String, JsonNode> products = new HashMap<>();
+        send("POST", "/product/get-all-products", filter).path("data")
+                .forEach(product -> products.put(product.path("productName").asText().toLowerCase(), product));
+        logger.info("Loaded {} products from the API", products.size());
+        return products;
+    }
+
+    private JsonNode send(String method, String path, Object body) {
+        HttpResponse<String> response = sendRaw(method, path, body);
+        checkStatus(method, path, response);
+        return readJson(response);
+    }
+
+    private HttpResponse<String> sendRaw(String method, String path, Object body) {
+        try {
+            return AuthApi.httpClient.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException("Cart API call failed: " + method + " " + path + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Cart API call interrupted: " + method + " " + path, e);
+        }
+    }
+
+    private HttpRequest request(String method, String path, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(AuthApi.mapper.writeValueAsString(body));
+            return HttpRequest.newBuilder(URI.create(AuthApi.apiBaseUrl() + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", session.getToken())
+                    .method(method, publisher)
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize request body for " + path, e);
+        }
+    }
+
+    private static void checkStatus(String method, String path, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            logger.error("Cart API call {} {} failed with HTTP {}", method, path, response.statusCode());
+            throw new RuntimeException("Cart API call " + method + " " + path + " failed: HTTP "
+                    + response.statusCode());
+        }
+    }
+
+    private static JsonNode readJson(HttpResponse<String> response) {
+        try {
+            return AuthApi.mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid JSON from cart API: " + e.getMessage(), e);
+        }
+    }
+}
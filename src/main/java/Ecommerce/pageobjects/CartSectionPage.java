@@ -24,7 +24,6 @@ public class CartSectionPage extends BasePage {
 
     // ===== Locators =====
     private final By productsAddedToCart = By.cssSelector(".cart h3");
-    private final By ngAnimation = By.cssSelector("[class*='ng-animating']");
     private final By btnCheckout = By.xpath("//li[@class='totalRow']//button");
 
     // ===== Constructor =====
@@ -41,10 +40,10 @@ public class CartSectionPage extends BasePage {
      */
     public List<WebElement> getProducts() {
         logger.info("Fetching products added to cart...");
-        waitForElementToAppear(productsAddedToCart);
+        waitForPageToBeQuiet();
+        waitForElementToAppear(productsAddedToCart); // satisfied on the first check once the page is quiet
 
         List<WebElement> products = driver.findElements(productsAddedToCart);
-        waitForElementToDisappear(ngAnimation);
 
         logger.info("Items added to cart successfully. Total items: {}", products.size());
         return products;
@@ -59,9 +58,13 @@ public class CartSectionPage extends BasePage {
     public boolean verifyProductDisplay(String productName) {
         logger.info("Verifying if product '{}' is displayed in the cart...", productName);
 
-        boolean checkAvailability = getProducts()
+        waitForPageToBeQuiet();
+        waitForElementToAppear(productsAddedToCart); // satisfied on the first check once the page is quiet
+
+        // All cart titles in one script call instead of one getText() per row
+        boolean checkAvailability = getTexts(productsAddedToCart)
                 .stream()
-                .anyMatch(product -> product.getText().equalsIgnoreCase(productName));
+                .anyMatch(product -> product.equalsIgnoreCase(productName));
 
         if (checkAvailability) {
             logger.info("Product '{}' is present in the cart.", productName);
@@ -79,7 +82,9 @@ public class CartSectionPage extends BasePage {
      */
     public CheckoutPage checkout() {
         logger.info("Proceeding to checkout...");
+        pageTransition("CartSectionPage.checkout");
         safeClick(btnCheckout);
+        invalidateElementCache();
         logger.info("Checkout button clicked successfully.");
         return new CheckoutPage(driver);
     }
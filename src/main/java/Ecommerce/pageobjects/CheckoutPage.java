@@ -1,10 +1,7 @@
 package Ecommerce.pageobjects;
 
-import java.util.List;
-
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,18 +41,11 @@ public class CheckoutPage extends BasePage {
         type(selectCountryInput, countryName);
         waitForElementToAppear(resultsContainer);
 
-        List<WebElement> results = driver.findElements(countryItems);
-        logger.debug("Found {} country options in dropdown.", results.size());
-
-        WebElement selectedCountry = results.stream()
-                .filter(option -> option.getText().trim().equalsIgnoreCase(countryName))
-                .findFirst()
-                .orElseThrow(() -> {
-                    logger.error("Country '{}' not found in dropdown.", countryName);
-                    return new RuntimeException("Country not found in dropdown: " + countryName);
-                });
-
-        selectedCountry.click();
+        // Match and click the option inside the browser: fixed cost for any number of results
+        if (!clickFirstWithText(countryItems, countryName)) {
+            logger.error("Country '{}' not found in dropdown.", countryName);
+            throw new RuntimeException("Country not found in dropdown: " + countryName);
+        }
         logger.info("Country '{}' selected successfully.", countryName);
     }
 
@@ -66,7 +56,9 @@ public class CheckoutPage extends BasePage {
      */
     public ConfirmationPage submitOrder() {
         logger.info("Submitting order...");
+        pageTransition("CheckoutPage.submitOrder");
         safeClick(btnSubmit);
+        invalidateElementCache();
         logger.info("Order submitted. Navigating to ConfirmationPage.");
         return new ConfirmationPage(driver);
     }
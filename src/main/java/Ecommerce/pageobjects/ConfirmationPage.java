@@ -35,9 +35,7 @@ public class ConfirmationPage extends BasePage {
      */
     public Boolean getConfirmation() {
         logger.info("Waiting for confirmation message to appear...");
-        waitForElementToAppear(confirmation);
-
-        String confirmationText = driver.findElement(confirmation).getText();
+        String confirmationText = getText(confirmation); // wait and read with a single lookup
         logger.info("Confirmation message retrieved: '{}'", confirmationText);
 
         boolean isConfirmed = confirmationText.equalsIgnoreCase("Thankyou for the order.");
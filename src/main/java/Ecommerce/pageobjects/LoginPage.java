@@ -1,11 +1,15 @@
 package Ecommerce.pageobjects;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import Ecommerce.AbstractComponent.BasePage;
+import Ecommerce.AbstractComponent.FrameworkConfig;
+import Ecommerce.api.AuthApi;
+import Ecommerce.api.AuthSession;
 
 /**
  * LoginPage Page Object
@@ -58,13 +62,57 @@ public class LoginPage extends BasePage {
         logger.debug("Entered password for user '{}'", userEmail);
 
         // Step 3: Click login button
+        pageTransition("LoginPage.login");
         click(btnLogin);
+        invalidateElementCache();
         logger.info("Login button clicked for user '{}'", userEmail);
 
         // Step 4: Return ProductCatalogue page object (next page after login)
         return new ProductCatalogue(driver);
     }
 
+    /**
+     * Logs in through the shop's API instead of the login form.
+     * The token (cached per user by AuthApi) is injected into localStorage,
+     * which requires the login page of the same origin to be open (see goTo()),
+     * and the catalogue is then opened directly.
+     *
+     * Use login() for tests that are about the login form itself.
+     *
+     * @param userEmail    User email address
+     * @param userPassword User password
+     * @return ProductCatalogue instance of the logged-in user
+     */
+    public ProductCatalogue loginViaApi(String userEmail, String userPassword) {
+        openAsUser(userEmail, userPassword, "/#/dashboard/dash");
+        logger.info("User '{}' logged in through the API. Catalogue opened.", userEmail);
+        return new ProductCatalogue(driver);
+    }
+
+    /**
+     * Logs in through the shop's API and opens the cart page directly.
+     * Typically used after seeding the cart with CartApi.
+     *
+     * @param userEmail    User email address
+     * @param userPassword User password
+     * @return CartSectionPage instance of the logged-in user
+     */
+    public CartSectionPage openCartViaApi(String userEmail, String userPassword) {
+        openAsUser(userEmail, userPassword, "/#/dashboard/cart");
+        logger.info("User '{}' logged in through the API. Cart opened.", userEmail);
+        return new CartSectionPage(driver);
+    }
+
+    private void openAsUser(String userEmail, String userPassword, String route) {
+        AuthSession session = AuthApi.login(userEmail, userPassword);
+
+        ((JavascriptExecutor) driver).executeScript(
+                "window.localStorage.setItem('token', arguments[0]);", session.getToken());
+        pageTransition("LoginPage.openAsUser " + route);
+        driver.get(FrameworkConfig.get().baseUrl() + route);
+        invalidateElementCache();
+    }
+
     // ===== Error Message Handling =====
 
     /**
@@ -74,8 +122,7 @@ public class LoginPage extends BasePage {
      * @return Error message text
      */
     public String getFlyinOutErrorMessage() {
-        waitForElementToAppear(flyinOut); // Wait until popup is visible
-        return driver.findElement(flyinOut).getText(); // Return popup text
+        return getText(flyinOut); // Wait until popup is visible and return its text (single lookup)
     }
 
     /**
@@ -85,8 +132,7 @@ public class LoginPage extends BasePage {
      * @return Error message text
      */
     public String getTextboxErrorMessage() {
-        waitForElementToAppear(textboxErrorLocator); // Wait until inline error is visible
-        return driver.findElement(textboxErrorLocator).getText(); // Return inline error text
+        return getText(textboxErrorLocator); // Wait until inline error is visible and return its text
     }
 
     // ===== Navigation =====
@@ -96,7 +142,9 @@ public class LoginPage extends BasePage {
      */
     public void goTo() {
         logger.info("Navigating to login page...");
-        driver.get("https://rahulshettyacademy.com/client");
+        pageTransition("LoginPage.goTo");
+        driver.get(FrameworkConfig.get().baseUrl());
+        invalidateElementCache();
         logger.info("Login page loaded successfully.");
     }
 }
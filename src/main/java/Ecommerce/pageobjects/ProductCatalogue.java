@@ -3,6 +3,7 @@ package Ecommerce.pageobjects;
 import java.util.List;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
@@ -12,6 +13,10 @@ import Ecommerce.AbstractComponent.BasePage;
 
 /**
  * ProductCatalogue Page Object
+ *
+ * Product lookups run against an in-browser index (see INDEX_SCRIPT),
+ * so finding a product costs a constant number of WebDriver round trips
+ * instead of two per product card.
  */
 public class ProductCatalogue extends BasePage {
 
@@ -19,10 +24,32 @@ public class ProductCatalogue extends BasePage {
 
     // Locators
     private final By products = By.cssSelector(".mb-3");
-    private final By productNameLocator = By.xpath(".//b");
-    private final By addToCartButton = By.xpath(".//button[text()=' Add To Cart']");
-    private final By toastNotification = By.cssSelector("#toast-container");
-    private final By ngAnimation = By.cssSelector("[class*='ng-animating']");
+
+    /**
+     * Installs (once per document) an in-browser name -> card index of the catalogue.
+     * A MutationObserver marks the index dirty whenever the DOM changes, so the
+     * cards are only re-scanned after the catalogue actually re-rendered.
+     * The calling script receives the index as "index" (lower-case name -> card).
+     */
+    private static final String INDEX_SCRIPT =
+            "var c = window.__sfdCatalogue;"
+            + "if (!c) {"
+            + "  c = window.__sfdCatalogue = { dirty: true, index: {}, names: [] };"
+            + "  new MutationObserver(function () { c.dirty = true; })"
+            + "    .observe(document.documentElement, { childList: true, subtree: true, characterData: true });"
+            + "}"
+            + "if (c.dirty) {"
+            + "  c.index = {}; c.names = [];"
+            + "  document.querySelectorAll('.mb-3').forEach(function (card) {"
+            + "    var b = card.querySelector('b');"
+            + "    if (!b) { return; }"
+            + "    var name = b.textContent.trim();"
+            + "    c.names.push(name);"
+            + "    c.index[name.toLowerCase()] = card;"
+            + "  });"
+            + "  c.dirty = false;"
+            + "}"
+            + "var index = c.index;";
 
     public ProductCatalogue(WebDriver driver) {
         super(driver);
@@ -36,25 +63,56 @@ public class ProductCatalogue extends BasePage {
         return productList;
     }
 
+    /**
+     * Returns the names of all products in the catalogue with a single script call.
+     *
+     * @return product names in catalogue order
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getProductNames() {
+        waitForElementToAppear(products);
+        List<String> names = (List<String>) ((JavascriptExecutor) driver)
+                .executeScript(INDEX_SCRIPT + "return c.names;");
+        logger.debug("Found {} products", names.size());
+        return names;
+    }
+
+    /**
+     * Finds a product card by name with a single script call,
+     * regardless of the number of products in the catalogue.
+     *
+     * @param productName Name of the product (case-insensitive)
+     * @return product card element, or null if no product has this name
+     */
+    public WebElement findProduct(String productName) {
+        waitForElementToAppear(products);
+        return (WebElement) ((JavascriptExecutor) driver).executeScript(
+                INDEX_SCRIPT + "return index[arguments[0].toLowerCase()] || null;", productName);
+    }
+
     public void addProductToCart(String productName) {
         logger.info("Attempting to add product '{}' to cart", productName);
 
-        WebElement product = getProductList()
-                .stream()
-                .filter(p -> p.findElement(productNameLocator)
-                        .getText()
-                        .equalsIgnoreCase(productName))
-                .findFirst()
-                .orElseThrow(() -> {
-                    logger.error("Product '{}' not found in catalogue", productName);
-                    return new RuntimeException("Product not found: " + productName);
-                });
-
-        product.findElement(addToCartButton).click();
+        // Resolve the card's "Add To Cart" button in the browser: one round trip for any catalogue size
+        waitForElementToAppear(products);
+        WebElement addToCart = (WebElement) ((JavascriptExecutor) driver).executeScript(
+                INDEX_SCRIPT
+                + "var card = index[arguments[0].toLowerCase()];"
+                + "if (!card) { return null; }"
+                + "return Array.prototype.find.call(card.querySelectorAll('button'), function (b) {"
+                + "  return b.textContent.trim() === 'Add To Cart'; }) || null;",
+                productName);
+
+        if (addToCart == null) {
+            logger.error("Product '{}' not found in catalogue", productName);
+            throw new RuntimeException("Product not found: " + productName);
+        }
+
+        addToCart.click();
         logger.info("Clicked 'Add To Cart' for product '{}'", productName);
 
-        waitForElementToAppear(toastNotification);
-        waitForElementToDisappear(ngAnimation);
+        // One wait for the add-to-cart request, toast animation and ng-animating to settle
+        waitForPageToBeQuiet();
 
         logger.info("Product '{}' successfully added to cart", productName);
     }
@@ -1,8 +1,6 @@
 package Ecommerce;
 
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +9,8 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import Ecommerce.TestComponents.BaseTest;
+import Ecommerce.TestComponents.LoginErrorCase;
+import Ecommerce.TestComponents.TestData;
 import Ecommerce.pageobjects.LoginPage;
 
 /**
@@ -31,46 +31,37 @@ public class LoginErrorValidationTest extends BaseTest {
      * - Empty credentials
      * - Invalid email format
      *
-     * Each row contains:
-     *   [0] -> Email
-     *   [1] -> Password
-     *   [2] -> Expected error message
-     *   [3] -> Error type ("flyinOut" or "textbox")
-     * @throws IOException 
+     * Each row is a LoginErrorCase (email, password, expected error message,
+     * error type "flyinOut" or "textbox"), read lazily from the cached JSonData.
      */
-    @DataProvider(name = "loginErrorData")
-    public Object[][] getLoginErrorData() throws IOException {
-    	List<HashMap<String,String>> data=getDataFromJson();
-        return new Object[][] {
-            { data.get(0) },
-            { data.get(1)},
-            { data.get(2) }
-        };
+    @DataProvider(name = "loginErrorData", parallel = true)
+    public Iterator<Object[]> getLoginErrorData() {
+        return TestData.rows(LoginErrorCase.class);
     }
 
     /**
      * Test method that runs for each dataset provided by DataProvider.
      */
     @Test(dataProvider = "loginErrorData")
-    public void loginErrorValidationTest(HashMap<String,String> input) throws IOException {
-        logger.info("Starting login error validation test with email: '{}'",input.get("userEmail"));
+    public void loginErrorValidationTest(LoginErrorCase input) {
+        logger.info("Starting login error validation test with email: '{}'",input.userEmail());
 
         // Step 1: Attempt login with provided credentials
-        loginPage.login(input.get("userEmail"), input.get("userPassword"));
+        getLoginPage().login(input.userEmail(), input.userPassword());
 
         // Step 2: Capture error message based on error type
         String actualError;
-        if ("flyinOut".equals(input.get("errorType"))) {
-            actualError = loginPage.getFlyinOutErrorMessage();
+        if ("flyinOut".equals(input.errorType())) {
+            actualError = getLoginPage().getFlyinOutErrorMessage();
         } else {
-            actualError = loginPage.getTextboxErrorMessage();
+            actualError = getLoginPage().getTextboxErrorMessage();
         }
 
         logger.info("Captured error message: '{}'", actualError);
 
         // Step 3: Assertion
-        Assert.assertEquals(actualError, input.get("expectedError"),
-                "Error message did not match for scenario: " + input.get("errorType"));
+        Assert.assertEquals(actualError, input.expectedError(),
+                "Error message did not match for scenario: " + input.errorType());
 //        logger.info("We forcelly fail the funtion to take the screenshot : '{}'",actualError);
 //        Assert.assertEquals(actualError, "We forsely fail the funtion to take the screenshot");
     }
@@ -23,7 +23,7 @@ public class ProductErrorValidationTest extends BaseTest {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductCatalogue.class);
 
-    @Test
+    @Test(groups = "cart")
     public void productErrorValidationTest() throws IOException {
         // Test data: valid credentials and product details
         String userEmail = "usman.basharmal123@gmail.com";
@@ -32,8 +32,8 @@ public class ProductErrorValidationTest extends BaseTest {
 
         logger.info("Starting product error validation test with user: {}", userEmail);
 
-        // Step 1: Login with valid credentials and navigate to product catalogue
-        ProductCatalogue productCatalogue = loginPage.login(userEmail, userPassword);
+        // Step 1: Login through the API and open the product catalogue directly
+        ProductCatalogue productCatalogue = getLoginPage().loginViaApi(userEmail, userPassword);
 
         // Step 2: Add a valid product to cart
         productCatalogue.addProductToCart(productName);
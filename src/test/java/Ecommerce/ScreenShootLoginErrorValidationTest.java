@@ -1,8 +1,6 @@
 package Ecommerce;
 
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Iterator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +11,9 @@ import org.testng.annotations.Test;
 import com.sun.net.httpserver.Authenticator.Retry;
 
 import Ecommerce.TestComponents.BaseTest;
+import Ecommerce.TestComponents.LoginErrorCase;
 import Ecommerce.TestComponents.RetryToRunTheFailedTest;
+import Ecommerce.TestComponents.TestData;
 import Ecommerce.pageobjects.LoginPage;
 
 /**
@@ -29,43 +29,32 @@ public class ScreenShootLoginErrorValidationTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(LoginPage.class);
 
     /**
-     * DataProvider supplies multiple sets of test data:
-     * - Invalid credentials
-     * - Empty credentials
-     * - Invalid email format
+     * DataProvider supplies the invalid email format row only.
      *
-     * Each row contains:
-     *   [0] -> Email
-     *   [1] -> Password
-     *   [2] -> Expected error message
-     *   [3] -> Error type ("flyinOut" or "textbox")
-     * @throws IOException 
+     * Each row is a LoginErrorCase (email, password, expected error message,
+     * error type "flyinOut" or "textbox"), read lazily from the cached JSonData.
      */
     @DataProvider(name = "loginErrorData")
-    public Object[][] getLoginErrorData() throws IOException {
-    	List<HashMap<String,String>> data=getDataFromJson();
-        return new Object[][] {
-           
-            { data.get(2) }
-        };
+    public Iterator<Object[]> getLoginErrorData() {
+        return TestData.rows(LoginErrorCase.class, "invalid-email");
     }
 
     /**
      * Test method that runs for each dataset provided by DataProvider.
      */
     @Test(dataProvider = "loginErrorData",retryAnalyzer=RetryToRunTheFailedTest.class)
-    public void loginErrorValidationTest(HashMap<String,String> input) throws IOException {
-        logger.info("Starting login error validation test with email: '{}'",input.get("userEmail"));
+    public void loginErrorValidationTest(LoginErrorCase input) {
+        logger.info("Starting login error validation test with email: '{}'",input.userEmail());
 
         // Step 1: Attempt login with provided credentials
-        loginPage.login(input.get("userEmail"), input.get("userPassword"));
+        getLoginPage().login(input.userEmail(), input.userPassword());
 
         // Step 2: Capture error message based on error type
         String actualError;
-        if ("flyinOut".equals(input.get("errorType"))) {
-            actualError = loginPage.getFlyinOutErrorMessage();
+        if ("flyinOut".equals(input.errorType())) {
+            actualError = getLoginPage().getFlyinOutErrorMessage();
         } else {
-            actualError = loginPage.getTextboxErrorMessage();
+            actualError = getLoginPage().getTextboxErrorMessage();
         }
 
         logger.info("Captured error message: '{}'", actualError);
@@ -14,10 +14,9 @@ import Ecommerce.pageobjects.CartSectionPage;
 import Ecommerce.pageobjects.CheckoutPage;
 import Ecommerce.pageobjects.ConfirmationPage;
 import Ecommerce.pageobjects.LoginPage;
-import Ecommerce.pageobjects.ProductCatalogue;
 
 public class StandAloneTest extends BaseTest {
-@Test
+@Test(groups = "cart")
     public  void submitOrderTest() throws IOException {
     	
 
@@ -27,14 +26,10 @@ public class StandAloneTest extends BaseTest {
         String productName = "ZARA COAT 3";
         String countryName = "Pakistan";
         
-     // Step 1: Launching Application            
-        ProductCatalogue productCatalogue = loginPage.login(userEmail, userPassword);
+     // Step 1-2: Seed the cart through the API and open it directly (add-to-cart UI is covered elsewhere)
+        CartSectionPage cartPage = openCartWithProducts(userEmail, userPassword, productName);
 
-        // Step 2: Add product to cart
-        productCatalogue.addProductToCart(productName);
-
-        // Step 3: Navigate to cart and verify product
-        CartSectionPage cartPage = productCatalogue.goToCartPage();
+        // Step 3: Verify product in cart
         boolean isProductAvailable = cartPage.verifyProductDisplay(productName);
         Assert.assertTrue(isProductAvailable, "Product was not found in the cart!");
 
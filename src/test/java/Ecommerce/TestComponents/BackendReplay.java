@@ -0,0 +1,342 @@
+package Ecommerce.TestComponents;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * BackendReplay
+ * -------------
+ * Records and replays the shop's backend calls made by the browser (apiBaseUrl/*),
+ * through CDP request interception (Fetch domain) on Chromium sessions.
+ *
+ *   backend.mode=record  responses of replayable calls are captured and, at the end
+ *                        of the run, merged into the archive (backend.archive)
+ *   backend.mode=replay  replayable calls found in the archive are answered from it
+ *                        without touching the network; others go to the network
+ *   backend.mode=off     no interception (default)
+ *
+ * Only idempotent reads are replayable: the paths below apiBaseUrl listed in
+ * backend.replayPaths (default product/get-all-products). Calls that change or read
+ * server state (add-to-cart, get-cart-products, create-order, ...) always go to the
+ * network, so a test sees the cart it seeded and really places its order.
+ * Calls below /auth/ are never recorded, even if listed: login responses carry a
+ * bearer token and user id that must not end up in an archive.
+ *
+ * Calls are matched on method, path (with query, without host) and a hash of the
+ * request body, so an archive recorded against one host replays against another.
+ * The archive keeps the latest response per match key, as gzip-compressed JSON
+ * lines. Calls made from Java (AuthApi, CartApi) are not intercepted.
+ *
+ * Like NetworkUsageTracker, CDP commands are sent by name, so no specific
+ * selenium-devtools-vNNN version is needed; other browsers are not intercepted.
+ */
+public final class BackendReplay {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendReplay.class);
+
+    // Headers that describe the original transfer, not the decoded body that is replayed
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-length", "content-encoding",
+            "transfer-encoding", "connection", "keep-alive");
+
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+
+    // Match key -> recorded response
+    private static final Map<String, RecordedResponse> archive = new ConcurrentHashMap<>();
+    private static final AtomicLong recorded = new AtomicLong();
+    private static final AtomicLong replayed = new AtomicLong();
+    private static final AtomicLong missed = new AtomicLong();
+    private static volatile boolean loaded;
+
+    private BackendReplay() {
+    }
+
+    /**
+     * One archived response. Body is the UTF-8 text, or bodyBase64 for binary content.
+     */
+    public static final class RecordedResponse {
+        public String key;
+        public int status;
+        public Map<String, String> headers = new TreeMap<>();
+        public String body;
+        public String bodyBase64;
+    }
+
+    /**
+     * Configured mode: off, record or replay.
+     */
+    public static String mode() {
+        return FrameworkConfig.get().getString("backend.mode", "off").toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isEnabled() {
+        return "record".equals(mode()) || "replay".equals(mode());
+    }
+
+    /**
+     * Starts recording or replaying the backend calls of a new browser session.
+     * Non-Chromium drivers are ignored.
+     *
+     * @param driver new browser session
+     */
+    public static void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.debug("Driver has no DevTools support; backend {} skipped.", mode());
+            return;
+        }
+        boolean replay = "replay".equals(mode());
+        if (replay) {
+            load();
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+
+            devTools.addListener(event("Fetch.requestPaused"), params -> {
+                String requestId = (String) params.get("requestId");
+                try {
+                    if (replay) {
+                        replay(devTools, requestId, params);
+                    } else {
+                        record(devTools, requestId, params);
+                    }
+                } catch (RuntimeException e) {
+                    logger.debug("Backend {} failed for a request: {}", mode(), e.getMessage());
+                    devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                }
+            });
+
+            String urlPattern = FrameworkConfig.get().getString("backend.urlPattern",
+                    FrameworkConfig.get().apiBaseUrl() + "/*");
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", List.of(Map.of(
+                    "urlPattern", urlPattern, "requestStage", replay ? "Request" : "Response")))));
+            logger.info("Backend {} active for {}", mode(), urlPattern);
+        } catch (RuntimeException e) {
+            logger.warn("Could not attach backend {} through CDP: {}", mode(), e.getMessage());
+        }
+    }
+
+    // ===== Record =====
+
+    /**
+     * Paused at the response stage: stores the response and lets it through unchanged.
+     */
+    @SuppressWarnings("unchecked")
+    private static void record(DevTools devTools, String requestId, Map<String, Object> params) {
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        Object status = params.get("responseStatusCode");
+        if (status instanceof Number && isReplayable(request)) {
+            Map<String, Object> content = devTools.send(new Command<Map<String, Object>>("Fetch.getResponseBody",
+                    Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+
+            RecordedResponse response = new RecordedResponse();
+            response.key = key(request);
+            response.status = ((Number) status).intValue();
+            for (Map<String, Object> header : (List<Map<String, Object>>) params.getOrDefault("responseHeaders",
+                    List.of())) {
+                String name = String.valueOf(header.get("name")).toLowerCase(Locale.ROOT);
+                if (!DROPPED_HEADERS.contains(name)) {
+                    response.headers.put(name, String.valueOf(header.get("value")));
+                }
+            }
+            String body = String.valueOf(content.getOrDefault("body", ""));
+            if (Boolean.TRUE.equals(content.get("base64Encoded"))) {
+                response.bodyBase64 = body;
+            } else {
+                response.body = body;
+            }
+            archive.put(response.key, response);
+            recorded.incrementAndGet();
+        }
+        devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+    }
+
+    // ===== Replay =====
+
+    /**
+     * Paused at the request stage: answers from the archive, or lets the call go to the network.
+     */
+    @SuppressWarnings("unchecked")
+    private static void replay(DevTools devTools, String requestId, Map<String, Object> params) {
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        if (!isReplayable(request)) {
+            devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            return;
+        }
+        String key = key(request);
+        RecordedResponse response = archive.get(key);
+        if (response == null) {
+            missed.incrementAndGet();
+            logger.debug("Backend replay miss, sent to the network: {}", key);
+            devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            return;
+        }
+        List<Map<String, String>> headers = new ArrayList<>();
+        response.headers.forEach((name, value) -> headers.add(Map.of("name", name, "value", value)));
+        String body = response.bodyBase64 != null ? response.bodyBase64
+                : Base64.getEncoder().encodeToString(response.body.getBytes(StandardCharsets.UTF_8));
+
+        devTools.send(new Command<Void>("Fetch.fulfillRequest", Map.of(
+                "requestId", requestId,
+                "responseCode", response.status,
+                "responseHeaders", headers,
+                "body", body)));
+        replayed.incrementAndGet();
+    }
+
+    // ===== Archive =====
+
+    /**
+     * Whether the call is an idempotent read listed in backend.replayPaths and carries no credentials.
+     */
+    static boolean isReplayable(Map<String, Object> request) {
+        String path = URI.create(String.valueOf(request.get("url"))).getRawPath();
+        if (path.contains("/auth/")) {
+            return false;
+        }
+        return FrameworkConfig.get().getList("backend.replayPaths", "product/get-all-products").stream()
+                .anyMatch(entry -> path.endsWith("/" + entry) || path.contains("/" + entry + "/"));
+    }
+
+    /**
+     * Match key: "METHOD /path?query #bodyHash".
+     */
+    static String key(Map<String, Object> request) {
+        URI uri = URI.create(String.valueOf(request.get("url")));
+        String path = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+        Object body = request.get("postData");
+        return request.get("method") + " " + path + " #" + hash(body == null ? "" : body.toString());
+    }
+
+    private static String hash(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        Path file = archiveFile();
+        if (Files.exists(file)) {
+            archive.putAll(read(file));
+            logger.info("Loaded {} backend responses from {}", archive.size(), file);
+        } else {
+            logger.warn("No backend archive at {}; every call goes to the network. Run with backend.mode=record first.",
+                    file);
+        }
+        loaded = true;
+    }
+
+    private static Map<String, RecordedResponse> read(Path file) {
+        Map<String, RecordedResponse> responses = new TreeMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    RecordedResponse response = mapper.readValue(line, RecordedResponse.class);
+                    responses.put(response.key, response);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read backend archive {}: {}", file, e.getMessage());
+        }
+        return responses;
+    }
+
+    /**
+     * Merges the responses recorded by this JVM into the archive and logs the replay counts.
+     * The file is locked while merging, so worker JVMs recording at the same time do not
+     * overwrite each other's responses.
+     */
+    public static void persist() {
+        if (replayed.get() + missed.get() > 0) {
+            logger.info("Backend replay: {} calls served from the archive, {} sent to the network.",
+                    replayed.get(), missed.get());
+        }
+        if (!"record".equals(mode()) || archive.isEmpty()) {
+            return;
+        }
+        Path file = archiveFile();
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Map<String, RecordedResponse> merged = Files.exists(file) ? read(file) : new TreeMap<>();
+                    merged.putAll(archive);
+
+                    Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                    try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temp)),
+                            StandardCharsets.UTF_8)) {
+                        for (RecordedResponse response : merged.values()) {
+                            writer.write(mapper.writeValueAsString(response));
+                            writer.write('\n');
+                        }
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                    logger.info("Recorded {} backend calls; archive {} holds {} responses ({} bytes).",
+                            recorded.get(), file, merged.size(), Files.size(file));
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write backend archive {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Path archiveFile() {
+        return FrameworkConfig.get().getPath("backend.archive", ".backend-archive/backend.jsonl.gz");
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+}
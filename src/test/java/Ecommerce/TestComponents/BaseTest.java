@@ -1,30 +1,30 @@
 package Ecommerce.TestComponents; 
 // Package declaration: groups related classes together under Ecommerce.TestComponents
 
-import java.io.File;                // For file handling
-import java.io.FileInputStream;     // For reading files as input streams
 import java.io.IOException;         // For handling IO exceptions
-import java.util.HashMap;           // For storing key-value pairs
 import java.util.List;              // For working with lists
-import java.util.Properties;        // For reading .properties configuration files
 
-import org.apache.commons.io.FileUtils; // Utility class for file operations (copy, read, write)
 import org.openqa.selenium.Dimension;
-import org.openqa.selenium.OutputType;  // Defines screenshot output type
-import org.openqa.selenium.TakesScreenshot; // Interface for capturing screenshots
 import org.openqa.selenium.WebDriver;   // Main Selenium WebDriver interface
 import org.openqa.selenium.chrome.ChromeDriver;   // Chrome browser driver
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;       // Edge browser driver
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver; // Firefox browser driver
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.testng.ITestResult;                    // Outcome of the test method, used to decide session reuse
 import org.testng.annotations.AfterMethod;        // TestNG annotation: runs after each test method
+import org.testng.annotations.AfterSuite;         // TestNG annotation: runs once after the suite
 import org.testng.annotations.BeforeMethod;       // TestNG annotation: runs before each test method
-
-import com.fasterxml.jackson.core.type.TypeReference; // Helps parse JSON into generic types
-import com.fasterxml.jackson.databind.ObjectMapper;   // JSON parser/mapper
-
+import org.testng.annotations.BeforeSuite;        // TestNG annotation: runs once before the suite
+
+import Ecommerce.AbstractComponent.FrameworkConfig; // Shared configuration loaded once per JVM
+import Ecommerce.AbstractComponent.PageMetrics;     // Front-end timings per page transition
+import Ecommerce.AbstractComponent.WaitTelemetry;   // Per-locator wait durations
+import Ecommerce.api.AuthApi;          // API login with cached tokens
+import Ecommerce.api.CartApi;          // API cart seeding and cleanup
+import Ecommerce.pageobjects.CartSectionPage;
 import Ecommerce.pageobjects.LoginPage; // Import your LoginPage page object
-import io.github.bonigarcia.wdm.WebDriverManager; // Manages browser driver binaries automatically
 
 import org.slf4j.Logger;        // Logging interface
 import org.slf4j.LoggerFactory; // Factory to create logger instances
@@ -37,69 +37,98 @@ import org.slf4j.LoggerFactory; // Factory to create logger instances
  *   - Read configuration (browser type) from GlobalData.properties
  *   - Initialize the appropriate WebDriver
  *   - Launch the application and return LoginPage object
- *   - Close the browser after each test
+ *   - Lease a warm browser session from the DriverPool before each test
+ *     and return it after the test
  */
 public class BaseTest {
 
     // Logger instance for structured logging
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
-    // WebDriver instance shared across tests
-    public WebDriver driver;
-
-    // Page object for login functionality
-    public LoginPage loginPage;
+    // Warm browser sessions shared by all test classes in this JVM
+    private static final DriverPool driverPool =
+            new DriverPool(FrameworkConfig.get().getInt("driver.pool.maxUses", 20));
 
     /**
      * Initializes WebDriver based on browser specified in GlobalData.properties.
      * Supported browsers: Chrome, Firefox, Edge.
+     * A "-fast" suffix (e.g. chrome-fast) applies the FastBrowserProfile.
+     * A "remote-" prefix (e.g. remote-chrome) opens the session on a Selenium Grid
+     * (grid.url) through the GridSessionOrchestrator instead of a local driver.
      *
      * @return WebDriver instance
-     * @throws IOException if properties file cannot be read
+     * @throws IOException if the browser session cannot be created
      */
     public WebDriver initializeDriver() throws IOException {
-        Properties pro = new Properties(); // Create Properties object to load config
-
-        // Load configuration file containing browser name
-        FileInputStream fil = new FileInputStream(System.getProperty("user.dir")
-                + "//src//main//resources//GlobalData.properties");
-        pro.load(fil); // Load properties file into memory
-
-        // Check if browser is passed via system property, else use properties file
-        String browserName = System.getProperty("browser") != null
-                ? System.getProperty("browser")
-                : pro.getProperty("browser");
+        // System property, environment variable or GlobalData.properties (see FrameworkConfig)
+        String browserName = FrameworkConfig.get().browser();
 
         logger.info("Initializing WebDriver for browser: {}", browserName);
 
+        WebDriver driver;
+        boolean fastProfile = FastBrowserProfile.isSelected(browserName); // e.g. chrome-fast
+        String browserKey = browserName.toLowerCase();
+        boolean remote = browserKey.startsWith("remote"); // e.g. remote-chrome-headless
+
 //        // Launch browser based on configuration
 
-        if (browserName.contains("chrome")) {
-        	WebDriverManager.chromedriver().setup();
+        if (browserKey.contains("chrome")) {
+            if (!remote) {
+                DriverBinaryResolver.resolve("chrome"); // Cached driver path, resolved once per JVM
+            }
             ChromeOptions option = new ChromeOptions();
            
 
-            if (browserName.contains("headless")) {
+            if (browserKey.contains("headless")) {
                 option.addArguments("--headless=new"); // use new headless mode ok
                 option.addArguments("--disable-gpu");  // recommended for CI
                 option.addArguments("--window-size=1440,900"); // realistic viewport
             }
+            if (fastProfile) {
+                FastBrowserProfile.applyTo(option); // eager page load, no extensions/background traffic
+            }
 
-            driver = new ChromeDriver(option);
+            driver = remote ? GridSessionOrchestrator.get().open(option) : new ChromeDriver(option);
         }
-        else if (browserName.equalsIgnoreCase("fireFox")) {
-            WebDriverManager.firefoxdriver().setup(); // Auto-download FirefoxDriver
-            driver = new FirefoxDriver();             // Launch Firefox browser5
+        else if (browserKey.contains("firefox")) {
+            if (!remote) {
+                DriverBinaryResolver.resolve("firefox"); // Cached FirefoxDriver, resolved once per JVM
+            }
+            FirefoxOptions option = new FirefoxOptions();
+            if (fastProfile) {
+                FastBrowserProfile.applyTo(option); // eager page load, no images/fonts/trackers
+            }
+            driver = remote ? GridSessionOrchestrator.get().open(option) : new FirefoxDriver(option); // Launch Firefox browser
             logger.debug("FirefoxDriver initialized successfully.");
-        } else if (browserName.equalsIgnoreCase("edge")) {
-            WebDriverManager.edgedriver().setup(); // Auto-download EdgeDriver
-            driver = new EdgeDriver();             // Launch Edge
+        } else if (browserKey.contains("edge")) {
+            if (!remote) {
+                DriverBinaryResolver.resolve("edge"); // Cached EdgeDriver, resolved once per JVM
+            }
+            EdgeOptions option = new EdgeOptions();
+            if (fastProfile) {
+                FastBrowserProfile.applyTo(option);
+            }
+            driver = remote ? GridSessionOrchestrator.get().open(option) : new EdgeDriver(option); // Launch Edge
             logger.debug("EdgeDriver initialized successfully.");
         } else {
             logger.error("Unsupported browser specified: {}", browserName);
             throw new RuntimeException("Unsupported browser: " + browserName);
         }
 
+        // Block images, fonts, media and trackers (Chromium) and count the traffic
+        if (NetworkUsageTracker.isEnabled(fastProfile)) {
+            NetworkUsageTracker.attach(driver,
+                    fastProfile ? FastBrowserProfile.blockedUrlPatterns() : List.of());
+        }
+
+        // Observe long tasks, LCP and layout shifts from the start of every document
+        PageMetrics.get().attach(driver);
+
+        // Answer the shop's backend calls from the recorded archive (backend.mode)
+        if (BackendReplay.isEnabled()) {
+            BackendReplay.attach(driver);
+        }
+
         // Maximize browser window
         if (!browserName.contains("headless")) {
             driver.manage().window().maximize();
@@ -111,93 +140,156 @@ public class BaseTest {
     }
 
     /**
-     * Utility method to read test data from JSON file.
+     * Returns the WebDriver session of the test running on the current thread.
+     *
+     * @return WebDriver instance, or null outside a test method
+     */
+    public WebDriver getDriver() {
+        return DriverContext.getDriver();
+    }
+
+    /**
+     * Returns the LoginPage of the test running on the current thread.
      *
-     * @return List of HashMaps containing test data
-     * @throws IOException if file cannot be read
+     * @return LoginPage object opened by launchApplication()
      */
-    public List<HashMap<String, String>> getDataFromJson() throws IOException {
-        // Define path to JSON test data file
-        String path = System.getProperty("user.dir") + "//src//main//resources//JSonData";
-        logger.info("Loading test data from JSON file: {}", path);
-
-        // Read JSON file into string
-        String jsonContent = FileUtils.readFileToString(new File(path), "UTF-8");
-
-        // Parse JSON into List<HashMap<String,String>>
-        ObjectMapper mapper = new ObjectMapper();
-        List<HashMap<String, String>> data = mapper.readValue(
-                jsonContent,
-                new TypeReference<List<HashMap<String, String>>>() {}
-        );
-
-        logger.debug("Test data loaded successfully. Records count: {}", data.size());
-        return data; // Return parsed test data
+    public LoginPage getLoginPage() {
+        return DriverContext.getLoginPage();
     }
 
     /**
-     * Captures screenshot and saves it under reports/screenshots folder.
+     * Captures a screenshot; it is written to the screenshot folder in the background
+     * (see ScreenshotWriter).
      *
-     * @param testCaseFileName name of the test case
+     * @param testCaseFileName file-name safe name of the test case
      * @param driver WebDriver instance
      * @return relative path for embedding in HTML report
-     * @throws IOException if screenshot capture fails
      */
-    public static String getScreenshoot(String testCaseFileName, WebDriver driver) throws IOException {
-        // Define screenshot directory
-        String screenshotDir = System.getProperty("user.dir") + "//reports//screenshots//";
-        File screenshotFolder = new File(screenshotDir);
-
-        // Create folder if it doesn't exist
-        if (!screenshotFolder.exists()) {
-            screenshotFolder.mkdirs();
-        }
-
-        // Capture screenshot
-        File src = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-
-        // Define destination path
-        String screenshotPath = screenshotDir + testCaseFileName + ".png";
-        File destination = new File(screenshotPath);
-
-        // Copy screenshot file to destination
-        FileUtils.copyFile(src, destination);
-
-        // Log screenshot path
-        LoggerFactory.getLogger(BaseTest.class).info("Screenshot saved at: {}", screenshotPath);
+    public static String getScreenshoot(String testCaseFileName, WebDriver driver) {
+        return ScreenshotWriter.get().capture(driver, testCaseFileName);
+    }
 
-        // Return relative path for embedding in ExtentReports
-        return "screenshots/" + testCaseFileName + ".png";
+    /**
+     * Runs once before the suite.
+     * Starts the local stand-in shop when stub.enabled is set (see StubShopServer).
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startStubShop() {
+        StubShopServer.startIfEnabled();
     }
 
     /**
      * Runs before each test method.
-     * Initializes the driver, launches the application, and returns LoginPage.
+     * Leases a driver from the pool, launches the application, and returns LoginPage.
      *
+     * @param result result of the test method about to run (binds its per-test log)
      * @return LoginPage object for further interactions
      * @throws IOException if driver initialization fails
      */
     @BeforeMethod()
-    public LoginPage launchApplication() throws IOException {
-        driver = initializeDriver(); // Initialize WebDriver
+    public LoginPage launchApplication(ITestResult result) throws IOException {
+        TestLogContext.begin(result); // Route this thread's logs to the test's own file
+        PageMetrics.get().reset(); // Page metrics start with this test's first navigation
+        WebDriver driver = driverPool.lease(this::initializeDriver); // Warm session, or a new one on a pool miss
+        DriverContext.setDriver(driver); // Confine the session to the current test thread
 
         // Create LoginPage object and navigate to application URL
-        loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(driver);
         loginPage.goTo();
+        DriverContext.setLoginPage(loginPage);
         logger.info("Application launched and navigated to LoginPage.");
 
         return loginPage; // Return LoginPage object
     }
 
+    /**
+     * Runs before each test method of the "cart" group.
+     * Empties the cart of the configured test user through the API, so every cart
+     * test starts from the same bounded cart (cart.resetBeforeTest in GlobalData.properties).
+     * Cart tests running in parallel must not share this account; WorkCoordinator
+     * runs the "cart" group one unit at a time (workers.serialGroups).
+     *
+     * @param result result of the test method about to run (binds its per-test log)
+     */
+    @BeforeMethod(onlyForGroups = "cart")
+    public void resetCart(ITestResult result) {
+        TestLogContext.begin(result);
+        FrameworkConfig config = FrameworkConfig.get();
+        String userEmail = config.getString("userEmail", null);
+        if (!config.getBoolean("cart.resetBeforeTest", true) || userEmail == null) {
+            return;
+        }
+        new CartApi(AuthApi.login(userEmail, config.getString("userPassword", ""))).emptyCart();
+    }
+
+    /**
+     * Cart fixture: adds the given products through the API (no catalogue scan,
+     * clicks or toast waits) and opens the cart page directly.
+     *
+     * @param userEmail    User email address
+     * @param userPassword User password
+     * @param productNames products to put into the cart
+     * @return CartSectionPage showing the seeded cart
+     */
+    public CartSectionPage openCartWithProducts(String userEmail, String userPassword, String... productNames) {
+        CartApi cartApi = new CartApi(AuthApi.login(userEmail, userPassword));
+        for (String productName : productNames) {
+            cartApi.addProduct(productName);
+        }
+        return getLoginPage().openCartViaApi(userEmail, userPassword);
+    }
+
     /**
      * Runs after each test method.
-     * Ensures the browser is closed to avoid resource leaks.
+     * Returns the browser to the pool; sessions of failed tests are quit instead of reused.
+     *
+     * @param result outcome of the test method
      */
-    @AfterMethod()
-    public void tearDown() {
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        WebDriver driver = DriverContext.getDriver();
         if (driver != null) {
-            driver.quit(); // Close browser
-            logger.info("Browser closed successfully after test execution.");
+            driverPool.release(driver, result.getStatus() == ITestResult.SUCCESS);
+            logger.info("Browser session returned to the pool after test execution.");
+        }
+        DriverContext.clear();
+        TestLogContext.end();
+    }
+
+    /**
+     * Runs once after the suite.
+     * Quits all pooled browsers, logs pool hit/miss statistics,
+     * writes the network usage and slowest-wait reports and saves the wait history.
+     * Worker JVMs run one small suite per work unit and keep their browsers
+     * until WorkWorker calls finishRun() at the end.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        if (!WorkWorker.isWorker()) {
+            finishRun();
+        }
+    }
+
+    /**
+     * Ends the run of this JVM: quits pooled browsers and writes the per-JVM reports.
+     * A worker JVM writes its wait, network and retry figures to its own files instead;
+     * WorkCoordinator merges them into the run's reports.
+     */
+    static void finishRun() {
+        driverPool.shutdown();
+        int tests = driverPool.getHits() + driverPool.getMisses();
+        if (WorkWorker.isWorker()) {
+            NetworkUsageTracker.writeRun(WorkWorker.runFile("network.json").toFile(), tests);
+            WaitTelemetry.get().writeRun(WorkWorker.runFile("waits.json").toFile());
+            RetryToRunTheFailedTest.writeRun(WorkWorker.runFile("retries.json").toFile());
+        } else {
+            NetworkUsageTracker.writeReport(NetworkUsageTracker.profile(), tests);
+
+            // Keep wait durations for adaptive timeouts and report where wait time went
+            WaitTelemetry.get().persist();
+            WaitTelemetry.get().writeReport(FrameworkConfig.get().reportFile().getParent().toFile(), 10);
         }
+        BackendReplay.persist();
+        StubShopServer.stop();
     }
 }
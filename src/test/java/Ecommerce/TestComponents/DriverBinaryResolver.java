@@ -0,0 +1,224 @@
+package Ecommerce.TestComponents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+/**
+ * DriverBinaryResolver
+ * --------------------
+ * Resolves the driver binary (chromedriver, geckodriver, msedgedriver) once per JVM
+ * and remembers the result in a local manifest, keyed by browser and major browser version.
+ *
+ * Manifest entries (driver.manifest in GlobalData.properties):
+ *   chrome.current=141.0.7390.54
+ *   chrome@141=/home/agent/.cache/selenium/chromedriver/.../chromedriver
+ *
+ * The version looked up is browserVersion if configured, else the version of the
+ * installed browser (read from its binary, one short process per JVM), so a browser
+ * auto-update resolves a matching driver instead of reusing the stale one. Only when
+ * the installed version cannot be read is the last version seen (.current) used.
+ *
+ * Once a manifest entry exists, WebDriverManager is skipped entirely and the
+ * driver path is handed to Selenium through the webdriver.*.driver system property.
+ * With driver.offline=true a missing entry is an error instead of a download,
+ * which keeps air-gapped build agents from attempting network calls.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+
+    // browser -> resolved driver path, filled once per JVM
+    private static final Map<String, String> resolvedDrivers = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Makes the driver binary for the given browser available to Selenium.
+     *
+     * @param browser "chrome", "firefox" or "edge"
+     */
+    public static void resolve(String browser) {
+        resolvedDrivers.computeIfAbsent(browser, DriverBinaryResolver::resolveFromManifestOrNetwork);
+    }
+
+    // ===== Resolution =====
+
+    private static synchronized String resolveFromManifestOrNetwork(String browser) {
+        FrameworkConfig config = FrameworkConfig.get();
+        Properties manifest = loadManifest();
+
+        // Prefer an explicitly configured browser version, then the installed one,
+        // else the last one seen on this agent
+        String browserVersion = config.getString("browserVersion", null);
+        if (browserVersion == null) {
+            browserVersion = installedBrowserVersion(browser).orElse(manifest.getProperty(browser + ".current"));
+        }
+        String driverPath = browserVersion == null ? null
+                : manifest.getProperty(browser + "@" + majorVersion(browserVersion));
+
+        if (driverPath != null && Files.isExecutable(Path.of(driverPath))) {
+            System.setProperty(driverSystemProperty(browser), driverPath);
+            logger.info("Using cached {} driver for browser version {}: {}", browser, browserVersion, driverPath);
+            return driverPath;
+        }
+
+        if (config.getBoolean("driver.offline", false)) {
+            throw new IllegalStateException("No cached driver for '" + browser + "' (browser version "
+                    + browserVersion + ") in " + manifestPath() + " and driver.offline=true. "
+                    + "Run once with network access to populate the manifest.");
+        }
+
+        WebDriverManager manager = managerFor(browser);
+        if (browserVersion != null && config.getString("browserVersion", null) != null) {
+            manager.browserVersion(browserVersion);
+        }
+        manager.setup();
+
+        driverPath = manager.getDownloadedDriverPath();
+        String resolvedVersion = manager.getResolvedBrowserVersion();
+        if (resolvedVersion == null || resolvedVersion.isBlank()) {
+            resolvedVersion = manager.getDownloadedDriverVersion();
+        }
+
+        if (driverPath != null && resolvedVersion != null) {
+            manifest.setProperty(browser + ".current", resolvedVersion);
+            manifest.setProperty(browser + "@" + majorVersion(resolvedVersion), driverPath);
+            saveManifest(manifest);
+        }
+
+        logger.info("Resolved {} driver {} for browser version {}: {}", browser,
+                manager.getDownloadedDriverVersion(), resolvedVersion, driverPath);
+        return driverPath == null ? "" : driverPath;
+    }
+
+    /**
+     * Version of the installed browser, read from its binary ("--version", or the file
+     * version on Windows), or empty if the browser or its version cannot be found.
+     */
+    private static Optional<String> installedBrowserVersion(String browser) {
+        try {
+            WebDriverManager manager = managerFor(browser);
+            manager.config().setCommandsPropertiesOnlineFirst(false); // Bundled lookup table, no network call
+            Optional<Path> browserPath = manager.getBrowserPath();
+            if (browserPath.isEmpty()) {
+                return Optional.empty();
+            }
+            String path = browserPath.get().toString();
+            List<String> command = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win")
+                    ? List.of("powershell", "-NoProfile", "-Command",
+                            "(Get-Item '" + path + "').VersionInfo.ProductVersion")
+                    : List.of(path, "--version");
+            // Output goes to a file, so the wait below is not stuck behind a blocking read
+            Path outputFile = Files.createTempFile("browser-version", ".txt");
+            try {
+                Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                        .redirectOutput(outputFile.toFile()).start();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                    logger.debug("Reading the installed {} version timed out: {}", browser, command);
+                    return Optional.empty();
+                }
+                String output = new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8);
+                Matcher version = Pattern.compile("\\d+(\\.\\d+)+").matcher(output);
+                return version.find() ? Optional.of(version.group()) : Optional.empty();
+            } finally {
+                Files.deleteIfExists(outputFile);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read the installed {} version: {}", browser, e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Major part of a numeric version ("141.0.7390.54" -> "141"); other values
+     * (e.g. "stable") unchanged. Drivers are compatible within a major browser version.
+     */
+    private static String majorVersion(String version) {
+        return version.matches("\\d+(\\..*)?") ? version.split("\\.")[0] : version;
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "chrome":
+                return WebDriverManager.chromedriver();
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    private static String driverSystemProperty(String browser) {
+        switch (browser) {
+            case "chrome":
+                return "webdriver.chrome.driver";
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browser);
+        }
+    }
+
+    // ===== Manifest I/O =====
+
+    private static Path manifestPath() {
+        return FrameworkConfig.get().getPath("driver.manifest", ".driver-cache/driver-manifest.properties");
+    }
+
+    private static Properties loadManifest() {
+        Properties manifest = new Properties();
+        Path path = manifestPath();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                logger.warn("Could not read driver manifest {}: {}", path, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static void saveManifest(Properties manifest) {
+        Path path = manifestPath();
+        try {
+            Files.createDirectories(path.getParent());
+            // Write to a temp file and move it, so a crashed run never leaves a truncated manifest
+            Path temp = Files.createTempFile(path.getParent(), "driver-manifest", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                manifest.store(out, "Resolved WebDriver binaries (browser@browserVersion=driverPath)");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write driver manifest {}: {}", path, e.getMessage());
+        }
+    }
+}
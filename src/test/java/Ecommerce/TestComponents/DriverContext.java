@@ -0,0 +1,47 @@
+package Ecommerce.TestComponents;
+
+import org.openqa.selenium.WebDriver;
+
+import Ecommerce.pageobjects.LoginPage;
+
+/**
+ * DriverContext
+ * -------------
+ * Thread-confined holder for the WebDriver session and LoginPage of the running test.
+ *
+ * TestNG runs @BeforeMethod, the test method, the test listeners and @AfterMethod
+ * of one invocation on the same thread, so each parallel method or DataProvider row
+ * sees only its own browser session.
+ */
+public final class DriverContext {
+
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<LoginPage> loginPage = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    public static WebDriver getDriver() {
+        return driver.get();
+    }
+
+    public static void setDriver(WebDriver webDriver) {
+        driver.set(webDriver);
+    }
+
+    public static LoginPage getLoginPage() {
+        return loginPage.get();
+    }
+
+    public static void setLoginPage(LoginPage page) {
+        loginPage.set(page);
+    }
+
+    /**
+     * Removes the session and page object of the current thread.
+     */
+    public static void clear() {
+        driver.remove();
+        loginPage.remove();
+    }
+}
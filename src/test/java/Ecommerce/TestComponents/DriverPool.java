@@ -0,0 +1,164 @@
+package Ecommerce.TestComponents;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverPool
+ * ----------
+ * Keeps warm WebDriver sessions alive between test methods so that
+ * every test (and every DataProvider row) does not pay a full browser cold start.
+ *
+ * Lifecycle of a session:
+ *   - lease():   reuse an idle session (hit) or launch a new one (miss)
+ *   - release(): clear cookies, localStorage and sessionStorage and park the session,
+ *                or quit it when it failed or reached the maximum number of uses
+ *   - shutdown(): quit every idle session and log the hit/miss statistics
+ */
+public class DriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    /**
+     * Creates a brand-new browser session (a pool miss).
+     */
+    @FunctionalInterface
+    public interface DriverFactory {
+        WebDriver create() throws IOException;
+    }
+
+    private final int maxUses;
+
+    // Idle sessions ready to be leased, and how many tests each session has served
+    private final Deque<WebDriver> idleDrivers = new ConcurrentLinkedDeque<>();
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+
+    // Statistics
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private final AtomicLong launchMillis = new AtomicLong();
+
+    public DriverPool(int maxUses) {
+        this.maxUses = Math.max(1, maxUses);
+    }
+
+    /**
+     * Leases a session: reuses an idle one when available, otherwise launches a new one.
+     *
+     * @param factory creates a new session on a pool miss
+     * @return WebDriver ready to navigate
+     * @throws IOException if a new session cannot be created
+     */
+    public WebDriver lease(DriverFactory factory) throws IOException {
+        WebDriver driver = idleDrivers.pollFirst();
+        if (driver != null) {
+            hits.incrementAndGet();
+            logger.debug("Driver pool hit. Reusing warm session.");
+            return driver;
+        }
+
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        driver = factory.create();
+        launchMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+        useCounts.put(driver, 0);
+        logger.debug("Driver pool miss. Launched new session.");
+        return driver;
+    }
+
+    /**
+     * Returns a session to the pool. The session is quit instead of reused
+     * when the test failed or the session reached the maximum number of uses.
+     *
+     * @param driver  leased session
+     * @param healthy false if the test using the session did not pass
+     */
+    public void release(WebDriver driver, boolean healthy) {
+        if (driver == null) {
+            return;
+        }
+
+        int uses = useCounts.merge(driver, 1, Integer::sum);
+        if (!healthy || uses >= maxUses) {
+            logger.info("Recycling driver session after {} use(s) (healthy={}).", uses, healthy);
+            discard(driver);
+            return;
+        }
+
+        try {
+            resetSession(driver);
+            idleDrivers.offerFirst(driver);
+        } catch (WebDriverException e) {
+            logger.warn("Could not reset driver session, discarding it: {}", e.getMessage());
+            discard(driver);
+        }
+    }
+
+    /**
+     * Quits all idle sessions and logs the pool statistics.
+     */
+    public void shutdown() {
+        WebDriver driver;
+        while ((driver = idleDrivers.pollFirst()) != null) {
+            quitQuietly(driver);
+            useCounts.remove(driver);
+        }
+        logStatistics();
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public int getRecycled() {
+        return recycled.get();
+    }
+
+    /**
+     * Logs hit/miss counts and the estimated browser startup time saved by reuse.
+     */
+    public void logStatistics() {
+        int missCount = misses.get();
+        long averageLaunch = missCount == 0 ? 0 : launchMillis.get() / missCount;
+        logger.info("Driver pool stats: hits={}, misses={}, recycled={}, avgLaunchMs={}, estimatedSavedMs={}",
+                hits.get(), missCount, recycled.get(), averageLaunch, averageLaunch * hits.get());
+    }
+
+    // ===== Helpers =====
+
+    private void resetSession(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+    }
+
+    private void discard(WebDriver driver) {
+        recycled.incrementAndGet();
+        useCounts.remove(driver);
+        quitQuietly(driver);
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.warn("Driver quit failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package Ecommerce.TestComponents;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * DurationHistory
+ * ---------------
+ * Durations of test methods and data provider rows across runs, keyed by test id
+ * (TestClass.method, plus -paramHash for rows; see TestLogContext.testId).
+ * Stored in schedule.history as a smoothed duration per id:
+ *   new = schedule.smoothing x latest + (1 - schedule.smoothing) x previous
+ *
+ * Used by LongestFirstScheduler to estimate how long each test method will take.
+ */
+public final class DurationHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(DurationHistory.class);
+
+    private static final DurationHistory instance = new DurationHistory();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final double smoothing;
+
+    private DurationHistory() {
+        smoothing = Double.parseDouble(FrameworkConfig.get().getString("schedule.smoothing", "0.5"));
+        load();
+    }
+
+    public static DurationHistory get() {
+        return instance;
+    }
+
+    /**
+     * Records the duration of one finished method or row.
+     */
+    public void record(String testId, long millis) {
+        durations.merge(testId, millis, (previous, latest) -> Math.round(smoothing * latest + (1 - smoothing) * previous));
+    }
+
+    /**
+     * Durations of a test method: one entry per data provider row, empty if it never ran.
+     *
+     * @param methodId TestClass.method (test id without parameter hash)
+     */
+    public List<Long> durationsOf(String methodId) {
+        List<Long> rows = new ArrayList<>();
+        durations.forEach((id, millis) -> {
+            if (id.equals(methodId) || id.startsWith(methodId + "-")) {
+                rows.add(millis);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Saves the durations to the history file.
+     */
+    public void persist() {
+        File file = historyFile();
+        try {
+            file.getParentFile().mkdirs();
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file, new TreeMap<>(durations));
+            logger.info("Test duration history saved for {} tests: {}", durations.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save test duration history {}: {}", file, e.getMessage());
+        }
+    }
+
+    // ===== Helpers =====
+
+    private File historyFile() {
+        return FrameworkConfig.get().getPath("schedule.history", ".test-history/durations.json").toFile();
+    }
+
+    private void load() {
+        File file = historyFile();
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            durations.putAll(mapper.readValue(file, new TypeReference<Map<String, Long>>() {}));
+            logger.debug("Test duration history loaded for {} tests from {}", durations.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not read test duration history {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package Ecommerce.TestComponents;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * FastBrowserProfile
+ * ------------------
+ * Performance-tuned browser settings, selected with a "-fast" browser name
+ * (-Dbrowser=chrome-fast, chrome-headless-fast, firefox-fast, edge-fast)
+ * or with browser.profile=fast in GlobalData.properties.
+ *
+ * The profile:
+ *   - returns from navigation at DOMContentLoaded (PageLoadStrategy.EAGER)
+ *   - blocks image, font, media and tracker requests (fast.blockedUrls)
+ *   - disables extensions, background networking and other browser housekeeping
+ *
+ * Chromium browsers block requests through CDP (see NetworkUsageTracker);
+ * Firefox gets the equivalent preferences.
+ */
+public final class FastBrowserProfile {
+
+    private static final String DEFAULT_BLOCKED_URLS =
+            "*.png,*.jpg,*.jpeg,*.gif,*.webp,*.svg,*.ico,"
+            + "*.woff,*.woff2,*.ttf,*.otf,*.eot,"
+            + "*.mp4,*.webm,*.mp3,*.ogg,"
+            + "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,*facebook.net*,*hotjar.com*";
+
+    private FastBrowserProfile() {
+    }
+
+    /**
+     * Tells whether the fast profile is selected for the given browser name.
+     *
+     * @param browserName value of the browser setting, e.g. "chrome-fast"
+     * @return true if the fast profile should be applied
+     */
+    public static boolean isSelected(String browserName) {
+        return browserName.toLowerCase(Locale.ROOT).contains("fast")
+                || "fast".equalsIgnoreCase(FrameworkConfig.get().getString("browser.profile", "default"));
+    }
+
+    /**
+     * URL patterns (CDP wildcard syntax) that the fast profile never loads.
+     */
+    public static List<String> blockedUrlPatterns() {
+        return FrameworkConfig.get().getList("fast.blockedUrls", DEFAULT_BLOCKED_URLS);
+    }
+
+    /**
+     * Applies the fast profile to Chrome or Edge options.
+     */
+    public static void applyTo(ChromiumOptions<?> options) {
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        options.addArguments(
+                "--disable-extensions",
+                "--disable-background-networking",
+                "--disable-component-update",
+                "--disable-default-apps",
+                "--disable-sync",
+                "--no-first-run",
+                "--mute-audio");
+
+        // Backstop for images even when the CDP session cannot be opened
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        options.setExperimentalOption("prefs", prefs);
+    }
+
+    /**
+     * Applies the fast profile to Firefox options.
+     */
+    public static void applyTo(FirefoxOptions options) {
+        options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        options.addPreference("permissions.default.image", 2);          // no images
+        options.addPreference("gfx.downloadable_fonts.enabled", false); // no web fonts
+        options.addPreference("media.autoplay.default", 5);             // no media autoplay
+        options.addPreference("media.preload.default", 0);
+        options.addPreference("privacy.trackingprotection.enabled", true);
+        options.addPreference("network.prefetch-next", false);
+        options.addPreference("network.dns.disablePrefetch", true);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("app.update.auto", false);
+        options.addPreference("browser.safebrowsing.malware.enabled", false);
+        options.addPreference("browser.safebrowsing.phishing.enabled", false);
+        options.addPreference("datareporting.healthreport.uploadEnabled", false);
+        options.addPreference("toolkit.telemetry.enabled", false);
+    }
+}
@@ -0,0 +1,267 @@
+package Ecommerce.TestComponents;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * GridSessionOrchestrator
+ * -----------------------
+ * Creates RemoteWebDriver sessions on a Selenium Grid (browser=remote-<browser>).
+ *
+ *   - The Grid is reached at grid.url. If it does not answer and grid.serverJar is set,
+ *     a standalone server is started on localhost and stopped when the JVM exits.
+ *   - Session requests queue on a fair semaphore per browser, sized by the slot capacity
+ *     the Grid reports on /status for that browser (or grid.maxSessions), so no more
+ *     sessions are requested than the Grid can hold; quit() gives the slot back.
+ *   - A session request that times out on this side (grid.sessionTimeoutSeconds) may
+ *     still be started by the Grid. Its slot is only given back after
+ *     grid.nodeSessionTimeoutSeconds, when the Grid has ended the idle session itself.
+ *
+ * Session creation and quit block the calling test thread for their HTTP round trips.
+ * The project targets Java 17, which has no virtual threads to hand them to, and a
+ * platform-thread hop would keep the caller blocked all the same.
+ */
+public final class GridSessionOrchestrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(GridSessionOrchestrator.class);
+
+    private static final GridSessionOrchestrator instance = new GridSessionOrchestrator();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final URL gridUrl;
+    private final Duration sessionTimeout;
+    private final Duration nodeSessionTimeout;
+
+    // Browser name -> session slots for it
+    private final Map<String, Semaphore> slotsByBrowser = new HashMap<>();
+    private Process localGrid;
+
+    private GridSessionOrchestrator() {
+        FrameworkConfig config = FrameworkConfig.get();
+        try {
+            gridUrl = URI.create(config.getString("grid.url", "http://localhost:4444")).toURL();
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid grid.url", e);
+        }
+        sessionTimeout = Duration.ofSeconds(config.getLong("grid.sessionTimeoutSeconds", 300));
+        nodeSessionTimeout = Duration.ofSeconds(config.getLong("grid.nodeSessionTimeoutSeconds", 300));
+    }
+
+    public static GridSessionOrchestrator get() {
+        return instance;
+    }
+
+    /**
+     * Opens a session on the Grid, waiting in line for a free slot.
+     *
+     * @param capabilities browser options
+     * @return session that frees its slot on quit()
+     */
+    public WebDriver open(Capabilities capabilities) {
+        Semaphore gridSlots = slots(capabilities.getBrowserName());
+        try {
+            if (!gridSlots.tryAcquire(sessionTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SessionNotCreatedException("No Grid slot became free within " + sessionTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while waiting for a Grid slot");
+        }
+
+        HttpCommandExecutor commandExecutor = new HttpCommandExecutor(
+                ClientConfig.defaultConfig().baseUrl(gridUrl).readTimeout(sessionTimeout));
+        try {
+            WebDriver driver = new GridSession(commandExecutor, capabilities, gridSlots);
+            logger.debug("Grid session created; {} slots free.", gridSlots.availablePermits());
+            return driver;
+        } catch (RuntimeException e) {
+            if (isTimeout(e)) {
+                // The Grid may still start this session; keep its slot until the Grid ends it
+                logger.warn("Grid session request timed out; its slot stays taken for {} s.",
+                        nodeSessionTimeout.toSeconds());
+                CompletableFuture.delayedExecutor(nodeSessionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(gridSlots::release);
+            } else {
+                gridSlots.release();
+            }
+            throw new SessionNotCreatedException("Grid session could not be created at " + gridUrl, e);
+        }
+    }
+
+    private static boolean isTimeout(Throwable throwable) {
+        for (Throwable t = throwable; t != null && t.getCause() != t; t = t.getCause()) {
+            if (t instanceof org.openqa.selenium.TimeoutException || t instanceof HttpTimeoutException
+                    || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ===== Grid capacity =====
+
+    private synchronized Semaphore slots(String browserName) {
+        Semaphore slots = slotsByBrowser.get(browserName);
+        if (slots == null) {
+            int capacity = FrameworkConfig.get().getInt("grid.maxSessions", 0);
+            if (capacity <= 0) {
+                JsonNode status = status();
+                if (status == null) {
+                    startLocalGrid();
+                    status = status();
+                }
+                capacity = status == null ? 1 : slotCapacity(status, browserName);
+            }
+            slots = new Semaphore(Math.max(1, capacity), true);
+            slotsByBrowser.put(browserName, slots);
+            logger.info("Selenium Grid at {} with {} session slots for {}.", gridUrl, capacity, browserName);
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the "value" of the Grid's /status response, or null if it is not reachable.
+     */
+    private JsonNode status() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(gridUrl.toURI().resolve("/status"))
+                    .timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? mapper.readTree(response.body()).path("value") : null;
+        } catch (IOException | URISyntaxException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Sessions the Grid can still start for the browser: per available node, the free
+     * slots whose stereotype matches the browser, but no more than the node's maxSessions.
+     * A node lists slots for every browser it detected, while maxSessions caps all of them.
+     */
+    private static int slotCapacity(JsonNode status, String browserName) {
+        int capacity = 0;
+        for (JsonNode node : status.path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText("UP"))) {
+                continue;
+            }
+            int free = 0;
+            int busy = 0;
+            for (JsonNode slot : node.path("slots")) {
+                if (!slot.path("session").isNull() && !slot.path("session").isMissingNode()) {
+                    busy++;
+                } else if (browserName.equalsIgnoreCase(slot.path("stereotype").path("browserName").asText())) {
+                    free++;
+                }
+            }
+            int maxSessions = node.path("maxSessions").asInt(Integer.MAX_VALUE);
+            capacity += Math.min(free, Math.max(0, maxSessions - busy));
+        }
+        return capacity;
+    }
+
+    /**
+     * Starts "selenium-server standalone" on the port of grid.url and waits until it is ready.
+     */
+    private void startLocalGrid() {
+        String serverJar = FrameworkConfig.get().getString("grid.serverJar", "");
+        if (serverJar.isBlank()) {
+            logger.warn("Selenium Grid at {} is not reachable and grid.serverJar is not set.", gridUrl);
+            return;
+        }
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", FrameworkConfig.get().getPath("grid.serverJar", serverJar).toString(),
+                "standalone", "--port", String.valueOf(gridUrl.getPort())));
+        int maxSessions = FrameworkConfig.get().getInt("grid.localMaxSessions", 0);
+        if (maxSessions > 0) {
+            command.addAll(List.of("--max-sessions", String.valueOf(maxSessions), "--override-max-sessions", "true"));
+        }
+        try {
+            File output = FrameworkConfig.get().getPath("grid.log", "logs/selenium-grid.log").toFile();
+            output.getParentFile().mkdirs();
+            localGrid = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output).start();
+            Runtime.getRuntime().addShutdownHook(new Thread(localGrid::destroy, "selenium-grid-stop"));
+            logger.info("Starting local Selenium Grid: {}", String.join(" ", command));
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+            while (System.nanoTime() < deadline && localGrid.isAlive()) {
+                JsonNode status = status();
+                if (status != null && status.path("ready").asBoolean()) {
+                    return;
+                }
+                Thread.sleep(500);
+            }
+            logger.error("Local Selenium Grid did not become ready; see {}", output);
+        } catch (IOException e) {
+            logger.error("Could not start local Selenium Grid: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== Sessions =====
+
+    /**
+     * Remote session that hands its Grid slot back when it quits.
+     */
+    private final class GridSession extends RemoteWebDriver {
+        private final Semaphore gridSlots;
+        private boolean released;
+
+        GridSession(HttpCommandExecutor commandExecutor, Capabilities capabilities, Semaphore gridSlots) {
+            super(commandExecutor, capabilities);
+            this.gridSlots = gridSlots;
+        }
+
+        @Override
+        public void quit() {
+            try {
+                super.quit();
+            } catch (RuntimeException e) {
+                logger.warn("Grid session did not quit cleanly: {}", e.getMessage());
+            } finally {
+                synchronized (this) {
+                    if (!released) {
+                        released = true;
+                        gridSlots.release();
+                    }
+                }
+            }
+        }
+    }
+}
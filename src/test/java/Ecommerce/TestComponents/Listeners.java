@@ -1,83 +1,147 @@
 package Ecommerce.TestComponents;
 
-import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.WebDriver;
-import org.testng.ITestContext;
+import org.openqa.selenium.WebDriverException;
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
-
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.Status;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import Ecommerce.AbstractComponent.FrameworkConfig;
+import Ecommerce.AbstractComponent.PageMetrics;
+import Ecommerce.TestComponents.ResultStream.TestRecord;
 import resources.ExtentReportNG;
 
 /**
  * Listeners class
  * ----------------
- * Implements TestNG ITestListener to integrate ExtentReports.
- * Captures screenshots on failure and logs test status.
+ * Implements TestNG ITestListener and ISuiteListener to integrate ExtentReports.
+ * Every finished test is appended to the shared ResultStream (captures a screenshot
+ * on failure); the HTML report is rendered once from that stream when the suite ends.
+ * Tests without a retry analyzer get RetryToRunTheFailedTest.
  */
-public class Listeners extends BaseTest implements ITestListener {
+public class Listeners extends BaseTest implements ITestListener, ISuiteListener, IAnnotationTransformer {
 
     // Logger instance
     private static final Logger logger = LoggerFactory.getLogger(Listeners.class);
 
-    // ExtentReports instance
-    ExtentReports extent = ExtentReportNG.getExtendReportObject();
-
-    // Thread-safe ExtentTest (one per test thread)
-    ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
+    /**
+     * Gives every test without its own retry analyzer the transient-failure retry policy.
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryToRunTheFailedTest.class);
+        }
+    }
 
     @Override
     public void onTestStart(ITestResult result) {
-        ExtentTest test = extent.createTest(result.getMethod().getMethodName());
-        extentTest.set(test); // assign unique test instance per thread
         logger.info("Test started: {}", result.getMethod().getMethodName());
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        extentTest.get().log(Status.PASS, "Test Passed");
+        ResultStream.get().append(toRecord(result, "PASS", null));
         logger.info("Test passed: {}", result.getMethod().getMethodName());
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        extentTest.get().fail(result.getThrowable());
-        logger.error("Test failed: {} with exception {}", 
-                     result.getMethod().getMethodName(), 
+        logger.error("Test failed: {} with exception {}",
+                     result.getMethod().getMethodName(),
                      result.getThrowable().getMessage());
 
-        WebDriver driver = null;
-        try {
-            driver = (WebDriver) result.getTestClass()
-                                       .getRealClass()
-                                       .getField("driver")
-                                       .get(result.getInstance());
-            logger.debug("WebDriver instance retrieved for screenshot.");
-        } catch (Exception e) {
-            logger.error("Could not access WebDriver for screenshot: {}", e.getMessage());
+        // Listeners run on the test thread, so the context holds this test's session
+        WebDriver driver = DriverContext.getDriver();
+        if (driver == null) {
+            logger.error("Could not access WebDriver for screenshot: no session bound to this thread.");
         }
 
-        if (driver != null) {
+        String screenshot = null;
+        if (driver != null && FrameworkConfig.get().getBoolean("screenshot.onFailure", true)) {
             try {
-                String path = getScreenshoot(result.getMethod().getMethodName(), driver);
-                extentTest.get().addScreenCaptureFromPath(path, result.getMethod().getMethodName());
-                logger.info("Screenshot captured and attached: {}", path);
-            } catch (IOException e) {
+                // Named by test, data row and attempt; written off the test thread
+                int attempt = RetryToRunTheFailedTest.retriesOf(result) + 1;
+                screenshot = getScreenshoot(TestLogContext.testId(result) + "-attempt" + attempt, driver);
+                logger.info("Screenshot captured and attached: {}", screenshot);
+            } catch (WebDriverException e) {
                 logger.error("Screenshot capture failed: {}", e.getMessage());
             }
         }
+        ResultStream.get().append(toRecord(result, "FAIL", screenshot));
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (result.wasRetried()) {
+            // A failed attempt that RetryToRunTheFailedTest decided to run again
+            ResultStream.get().append(toRecord(result, "RETRIED", null));
+            logger.info("Test will be retried: {}", result.getMethod().getMethodName());
+            return;
+        }
+        ResultStream.get().append(toRecord(result, "SKIP", null));
+        logger.info("Test skipped: {}", result.getMethod().getMethodName());
     }
 
     @Override
-    public void onFinish(ITestContext context) {
-        extent.flush();
-        logger.info("All tests finished. Extent report flushed.");
+    public void onFinish(ISuite suite) {
+        // The report links screenshot files, so they must be on disk first
+        ScreenshotWriter.get().awaitPendingWrites(Duration.ofSeconds(30));
+        if (WorkWorker.isWorker()) {
+            return; // the WorkCoordinator renders one report from all workers' streams
+        }
+        ExtentReportNG.render(ResultStream.get().readAll(), RetryToRunTheFailedTest.summary());
+        logger.info("All tests finished. Extent report rendered from {}.", ResultStream.get().getFile());
+        logger.info("Retry statistics: {}", RetryToRunTheFailedTest.summary());
+    }
+
+    private static TestRecord toRecord(ITestResult result, String status, String screenshot) {
+        TestRecord record = new TestRecord();
+        record.testId = TestLogContext.testId(result);
+        record.className = result.getTestClass().getRealClass().getName();
+        record.method = result.getMethod().getMethodName();
+        record.description = result.getMethod().getDescription();
+        record.context = result.getTestContext().getName();
+        record.status = status;
+        // The analyzer has already counted a retried attempt; later attempts follow it
+        int retries = RetryToRunTheFailedTest.retriesOf(result);
+        record.attempt = "RETRIED".equals(status) ? retries : retries + 1;
+        record.screenshot = screenshot;
+        record.thread = Thread.currentThread().getName();
+        record.startMillis = result.getStartMillis();
+        record.endMillis = result.getEndMillis() > 0 ? result.getEndMillis() : System.currentTimeMillis();
+
+        // Front-end samples of this attempt, for the report entry and the run's metrics file
+        List<Map<String, Object>> pageMetrics = PageMetrics.get().finish(DriverContext.getDriver());
+        if (!pageMetrics.isEmpty()) {
+            record.pageMetrics = pageMetrics;
+            PageMetrics.get().appendToRunFile(record.testId, pageMetrics);
+        }
+
+        Throwable throwable = result.getThrowable();
+        if (throwable != null) {
+            record.error = throwable.getClass().getName() + ": " + throwable.getMessage();
+            StringWriter stackTrace = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(stackTrace));
+            record.stackTrace = stackTrace.toString();
+        }
+        return record;
     }
 }
@@ -0,0 +1,28 @@
+package Ecommerce.TestComponents;
+
+import java.util.List;
+
+/**
+ * One row of the login error data (JSonData).
+ *
+ * @param userEmail     email typed into the login form
+ * @param userPassword  password typed into the login form
+ * @param expectedError error message the page must show
+ * @param errorType     where the error appears: "flyinOut" (toast) or "textbox" (inline)
+ * @param tags          labels used to select rows (see TestData)
+ */
+public record LoginErrorCase(String userEmail, String userPassword, String expectedError, String errorType,
+        List<String> tags) implements TestData.Tagged {
+
+    public LoginErrorCase {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    /**
+     * Keeps the password out of TestNG and report output.
+     */
+    @Override
+    public String toString() {
+        return "LoginErrorCase[" + errorType + ", " + userEmail + ", tags=" + tags + "]";
+    }
+}
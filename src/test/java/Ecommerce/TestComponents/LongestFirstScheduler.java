@@ -0,0 +1,197 @@
+package Ecommerce.TestComponents;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * LongestFirstScheduler
+ * ---------------------
+ * Orders the test methods of each <test> longest-processing-time first, using the
+ * durations of earlier runs (DurationHistory), so a slow purchase flow starts while
+ * the other threads still have short tests to pick up instead of running last.
+ * A method's estimate is the time its data provider rows take (spread over the
+ * data provider threads when the provider is parallel). Methods without history are
+ * estimated at schedule.defaultMs and keep their declaration order among equals.
+ *
+ * Also records every method and row duration into the history, and after each <test>
+ * reports the predicted makespan (declaration order vs. longest first) against the
+ * actual one in the log and in reports/schedule-report.csv.
+ *
+ * Register it in the suite XML next to Listeners.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LongestFirstScheduler.class);
+
+    // Predicted makespans per <test>: { declaration order, longest first, threads }
+    private static final Map<String, long[]> predictions = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        DurationHistory history = DurationHistory.get();
+        long defaultMillis = FrameworkConfig.get().getLong("schedule.defaultMs", 30000);
+
+        int rowThreads = context.getSuite().getXmlSuite().getDataProviderThreadCount();
+
+        Map<IMethodInstance, Long> estimates = new ConcurrentHashMap<>();
+        for (IMethodInstance method : methods) {
+            List<Long> rows = history.durationsOf(TestLogContext.methodId(method.getMethod()));
+            // Rows of a parallel data provider share the data provider threads
+            long estimate = rows.isEmpty() ? defaultMillis
+                    : makespan(rows, hasParallelDataProvider(method.getMethod()) ? rowThreads : 1);
+            estimates.put(method, estimate);
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        if (FrameworkConfig.get().getBoolean("schedule.longestFirst", true)) {
+            // List.sort is stable: equal estimates keep declaration order
+            ordered.sort(Comparator.comparingLong((IMethodInstance m) -> estimates.get(m)).reversed());
+        }
+
+        int threads = threads(context.getCurrentXmlTest());
+        long declared = makespan(methods.stream().map(estimates::get).toList(), threads);
+        long longestFirst = makespan(ordered.stream().map(estimates::get).toList(), threads);
+        predictions.put(context.getName(), new long[] { declared, longestFirst, threads });
+
+        logger.info("Schedule for '{}' on {} threads: predicted makespan {} ms (declaration order {} ms)",
+                context.getName(), threads, longestFirst, declared);
+        ordered.forEach(m -> logger.debug("  {} ms  {}", estimates.get(m), TestLogContext.methodId(m.getMethod())));
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        long[] predicted = predictions.get(context.getName());
+        long actual = actualMakespan(context);
+        if (predicted == null || actual < 0) {
+            return;
+        }
+        logger.info("Makespan of '{}': actual {} ms, predicted {} ms (declaration order {} ms)",
+                context.getName(), actual, predicted[1], predicted[0]);
+
+        Path report = FrameworkConfig.get().reportFile().getParent().resolve("schedule-report.csv");
+        try {
+            Files.createDirectories(report.getParent());
+            boolean header = !Files.exists(report);
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                if (header) {
+                    out.println("test,threads,predictedDeclaredMs,predictedLongestFirstMs,actualMs");
+                }
+                out.printf("\"%s\",%d,%d,%d,%d%n", context.getName().replace("\"", "\"\""), predicted[2],
+                        predicted[0], predicted[1], actual);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write schedule report {}: {}", report, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DurationHistory.get().persist();
+    }
+
+    // ===== Helpers =====
+
+    private static void record(ITestResult result) {
+        DurationHistory.get().record(TestLogContext.testId(result), result.getEndMillis() - result.getStartMillis());
+    }
+
+    private static int threads(XmlTest test) {
+        XmlSuite.ParallelMode parallel = test.getParallel();
+        if (parallel == null || parallel == XmlSuite.ParallelMode.NONE) {
+            return 1;
+        }
+        return Math.max(1, test.getThreadCount());
+    }
+
+    /**
+     * Whether the method's rows come from a @DataProvider(parallel = true) of its class.
+     */
+    private static boolean hasParallelDataProvider(ITestNGMethod method) {
+        Test test = method.getConstructorOrMethod().getMethod().getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            return false;
+        }
+        for (Method candidate : method.getRealClass().getMethods()) {
+            DataProvider provider = candidate.getAnnotation(DataProvider.class);
+            if (provider != null && (provider.name().isEmpty() ? candidate.getName() : provider.name())
+                    .equals(test.dataProvider())) {
+                return provider.parallel();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Simulates a thread pool: each job in order goes to the thread that becomes free first.
+     */
+    private static long makespan(List<Long> jobs, int threads) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (long job : jobs) {
+            long end = loads.poll() + job;
+            loads.add(end);
+            makespan = Math.max(makespan, end);
+        }
+        return makespan;
+    }
+
+    /**
+     * Time from the first test start to the last test end of the <test>, or -1 if none ran.
+     */
+    private static long actualMakespan(ITestContext context) {
+        List<ITestResult> results = new ArrayList<>();
+        results.addAll(context.getPassedTests().getAllResults());
+        results.addAll(context.getFailedTests().getAllResults());
+        results.addAll(context.getSkippedTests().getAllResults());
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        for (ITestResult result : results) {
+            start = Math.min(start, result.getStartMillis());
+            end = Math.max(end, result.getEndMillis());
+        }
+        return results.isEmpty() ? -1 : end - start;
+    }
+}
@@ -0,0 +1,211 @@
+package Ecommerce.TestComponents;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * NetworkUsageTracker
+ * -------------------
+ * Counts requests and transferred bytes of Chromium sessions through CDP and,
+ * for the fast profile, blocks the configured URL patterns with Network.setBlockedURLs.
+ *
+ * At suite end a per-run report is written to reports/network-usage-&lt;profile&gt;.json.
+ * When a report of the default profile exists (run once with network.report=true),
+ * the fast profile report also contains the requests and bytes avoided per test.
+ * Worker JVMs of a multi-JVM run write their totals with writeRun(); the coordinator
+ * adds them up with mergeRun() and writes the report once.
+ *
+ * CDP commands are sent by name, so the tracker does not depend on a specific
+ * selenium-devtools-vNNN version.
+ */
+public final class NetworkUsageTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkUsageTracker.class);
+
+    // Totals across all tracked sessions of this JVM
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong bytesTransferred = new AtomicLong();
+    private static final AtomicLong requestsBlocked = new AtomicLong();
+    private static final Map<String, AtomicLong> blockedByType = new ConcurrentHashMap<>();
+
+    private NetworkUsageTracker() {
+    }
+
+    /**
+     * Starts tracking a Chromium session, optionally blocking the given URL patterns.
+     * Non-Chromium drivers are ignored.
+     *
+     * @param driver          new browser session
+     * @param blockedPatterns URL patterns to block, empty to only measure
+     */
+    public static void attach(WebDriver driver, List<String> blockedPatterns) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.debug("Driver has no DevTools support; network tracking skipped.");
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+
+            devTools.addListener(event("Network.requestWillBeSent"), params -> requests.incrementAndGet());
+            devTools.addListener(event("Network.loadingFinished"), params -> {
+                Object length = params.get("encodedDataLength");
+                if (length instanceof Number) {
+                    bytesTransferred.addAndGet(((Number) length).longValue());
+                }
+            });
+            devTools.addListener(event("Network.loadingFailed"), params -> {
+                if (params.get("blockedReason") != null) {
+                    requestsBlocked.incrementAndGet();
+                    blockedByType.computeIfAbsent(String.valueOf(params.get("type")), type -> new AtomicLong())
+                            .incrementAndGet();
+                }
+            });
+
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            if (!blockedPatterns.isEmpty()) {
+                devTools.send(new Command<Void>("Network.setBlockedURLs", Map.of("urls", blockedPatterns)));
+                logger.info("Blocking {} URL patterns for this session.", blockedPatterns.size());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not attach network tracking through CDP: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Tells whether network tracking should be attached for the given profile.
+     */
+    public static boolean isEnabled(boolean fastProfile) {
+        return fastProfile || FrameworkConfig.get().getBoolean("network.report", false);
+    }
+
+    /**
+     * Profile of this run, as used in the report name: "fast" or "default".
+     */
+    public static String profile() {
+        return FastBrowserProfile.isSelected(FrameworkConfig.get().browser()) ? "fast" : "default";
+    }
+
+    /**
+     * Writes this JVM's totals to the given file, to be merged by mergeRun().
+     *
+     * @param file      run file of this JVM
+     * @param testCount number of tests (browser leases) in this JVM
+     */
+    public static void writeRun(File file, int testCount) {
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("tests", testCount);
+        run.put("requests", requests.get());
+        run.put("bytesTransferred", bytesTransferred.get());
+        run.put("requestsBlocked", requestsBlocked.get());
+        Map<String, Long> byType = new LinkedHashMap<>();
+        blockedByType.forEach((type, count) -> byType.put(type, count.get()));
+        run.put("requestsBlockedByType", byType);
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().writeValue(file, run);
+        } catch (IOException e) {
+            logger.warn("Could not write network usage of this JVM {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the totals of another JVM, written by writeRun(), to this JVM's totals.
+     *
+     * @param file run file of the other JVM; ignored if missing
+     * @return number of tests of the other JVM
+     */
+    public static int mergeRun(File file) {
+        if (!file.exists()) {
+            return 0;
+        }
+        try {
+            JsonNode run = new ObjectMapper().readTree(file);
+            requests.addAndGet(run.path("requests").asLong());
+            bytesTransferred.addAndGet(run.path("bytesTransferred").asLong());
+            requestsBlocked.addAndGet(run.path("requestsBlocked").asLong());
+            run.path("requestsBlockedByType").properties().forEach(entry -> blockedByType
+                    .computeIfAbsent(entry.getKey(), type -> new AtomicLong()).addAndGet(entry.getValue().asLong()));
+            return run.path("tests").asInt();
+        } catch (IOException e) {
+            logger.warn("Could not read network usage {}: {}", file, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Writes the per-run network usage report.
+     *
+     * @param profile   "fast" or "default"
+     * @param testCount number of tests (browser leases) in this run
+     */
+    public static void writeReport(String profile, int testCount) {
+        if (requests.get() == 0 && requestsBlocked.get() == 0) {
+            return;
+        }
+
+        File reportDir = FrameworkConfig.get().reportFile().getParent().toFile();
+        File reportFile = new File(reportDir, "network-usage-" + profile + ".json");
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        int tests = Math.max(1, testCount);
+        report.put("profile", profile);
+        report.put("tests", testCount);
+        report.put("requests", requests.get());
+        report.put("bytesTransferred", bytesTransferred.get());
+        report.put("requestsBlocked", requestsBlocked.get());
+        Map<String, Long> byType = new LinkedHashMap<>();
+        blockedByType.forEach((type, count) -> byType.put(type, count.get()));
+        report.put("requestsBlockedByType", byType);
+        report.put("requestsPerTest", requests.get() / tests);
+        report.put("bytesPerTest", bytesTransferred.get() / tests);
+
+        // Compare with the last default-profile run to report what was avoided
+        File baselineFile = new File(reportDir, "network-usage-default.json");
+        if (!"default".equals(profile) && baselineFile.exists()) {
+            try {
+                JsonNode baseline = mapper.readTree(baselineFile);
+                report.put("requestsAvoidedPerTest",
+                        baseline.path("requestsPerTest").asLong() - requests.get() / tests);
+                report.put("bytesAvoidedPerTest",
+                        baseline.path("bytesPerTest").asLong() - bytesTransferred.get() / tests);
+            } catch (IOException e) {
+                logger.warn("Could not read network baseline {}: {}", baselineFile, e.getMessage());
+            }
+        }
+
+        try {
+            reportDir.mkdirs();
+            mapper.writeValue(reportFile, report);
+            logger.info("Network usage ({} profile): {} requests, {} bytes, {} blocked. Report: {}",
+                    profile, requests.get(), bytesTransferred.get(), requestsBlocked.get(), reportFile);
+        } catch (IOException e) {
+            logger.warn("Could not write network usage report {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -0,0 +1,112 @@
+package Ecommerce.TestComponents;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * ResultStream
+ * ------------
+ * One append-only results file per JVM (report.results, default reports/results.jsonl).
+ * Every finished test is written as one JSON line right away, so parallel tests never
+ * contend on the HTML report and a crashed run still leaves its results behind.
+ * The HTML report is rendered once from this stream at suite end (see ExtentReportNG).
+ */
+public final class ResultStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultStream.class);
+
+    private static final ResultStream instance = new ResultStream();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path file;
+    private BufferedWriter writer;
+
+    private ResultStream() {
+        file = FrameworkConfig.get().getPath("report.results", "reports/results.jsonl");
+    }
+
+    public static ResultStream get() {
+        return instance;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Appends one result and flushes it to disk.
+     * The file is truncated on the first append of the run.
+     */
+    public synchronized void append(TestRecord record) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(file.getParent());
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            writer.write(mapper.writeValueAsString(record));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.error("Could not append result of {} to {}: {}", record.testId, file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads every result written so far.
+     */
+    public synchronized List<TestRecord> readAll() {
+        return read(file);
+    }
+
+    /**
+     * Reads a results stream, e.g. one written by a worker JVM.
+     */
+    public static List<TestRecord> read(Path results) {
+        List<TestRecord> records = new ArrayList<>();
+        if (!Files.exists(results)) {
+            return records;
+        }
+        try (MappingIterator<TestRecord> lines = instance.mapper.readerFor(TestRecord.class)
+                .readValues(results.toFile())) {
+            lines.forEachRemaining(records::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read results from " + results, e);
+        }
+        return records;
+    }
+
+    /**
+     * One finished test as written to the stream.
+     */
+    public static class TestRecord {
+        public String testId;
+        public String className;
+        public String method;
+        public String description;
+        public String context;      // <test> name of the suite
+        public String status;       // PASS, FAIL, SKIP, RETRIED (failed attempt that was retried)
+        public int attempt = 1;
+        public String error;        // exception class and message
+        public String stackTrace;
+        public String screenshot;   // path relative to the HTML report
+        public String thread;
+        public long startMillis;
+        public long endMillis;
+        public List<Map<String, Object>> pageMetrics; // one sample per page transition (see PageMetrics)
+    }
+}
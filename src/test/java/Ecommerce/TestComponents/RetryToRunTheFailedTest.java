@@ -1,20 +1,190 @@
 package Ecommerce.TestComponents;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * RetryToRunTheFailedTest
+ * -----------------------
+ * Retries only failures that are likely to pass on a second run:
+ * timeouts, stale or intercepted elements and crashed or unreachable browser sessions.
+ * Assertion failures and every other exception fail immediately.
+ *
+ * Attempts are counted per invocation (test method plus data provider row),
+ * so rows of one data provider do not share a retry budget. Each retry waits with
+ * exponential backoff (retry.baseDelayMs, capped at retry.maxDelayMs); the failed
+ * session is not returned to the DriverPool, so the retry gets a fresh browser.
+ * Worker JVMs write their statistics with writeRun(); the coordinator adds them up
+ * with mergeRun() for the report's summary().
+ */
 public class RetryToRunTheFailedTest implements IRetryAnalyzer {
 
-	int count=0;
-	int maxcount=2;
-	@Override
-	public boolean retry(ITestResult result) {
-		// TODO Auto-generated method stub
-		if(count<maxcount) {
-			count++;
-			return true;
-		}
-		return false;
-	}
+    private static final Logger logger = LoggerFactory.getLogger(RetryToRunTheFailedTest.class);
+
+    // Failures worth another attempt (matched anywhere in the cause chain)
+    private static final List<Class<? extends Throwable>> TRANSIENT = List.of(
+            TimeoutException.class,
+            ScriptTimeoutException.class,
+            StaleElementReferenceException.class,
+            ElementClickInterceptedException.class,
+            NoSuchSessionException.class,
+            SessionNotCreatedException.class,
+            UnreachableBrowserException.class);
+
+    // Retries used so far per invocation (test id)
+    private static final Map<String, AtomicInteger> retries = new ConcurrentHashMap<>();
+    // Retries granted per exception type, and failures not retried per reason
+    private static final Map<String, AtomicInteger> retriedByCause = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> notRetried = new ConcurrentHashMap<>();
+
+    private final int maxRetries = FrameworkConfig.get().getInt("retry.maxAttempts", 2);
+    private final long baseDelayMillis = FrameworkConfig.get().getLong("retry.baseDelayMs", 1000);
+    private final long maxDelayMillis = FrameworkConfig.get().getLong("retry.maxDelayMs", 8000);
+
+    @Override
+    public boolean retry(ITestResult result) {
+        String testId = TestLogContext.testId(result);
+        Throwable cause = transientCause(result.getThrowable());
+        if (cause == null) {
+            String reason = result.getThrowable() instanceof AssertionError ? "assertion" : "non-transient";
+            count(notRetried, reason);
+            logger.info("Not retrying {}: {} failure.", testId, reason);
+            return false;
+        }
+
+        // Counted only when granted, so retriesOf() is the number of retries actually run
+        AtomicInteger used = retries.computeIfAbsent(testId, id -> new AtomicInteger());
+        if (used.get() >= maxRetries) {
+            count(notRetried, "retries exhausted");
+            logger.warn("Not retrying {}: {} retries used.", testId, maxRetries);
+            return false;
+        }
+        int attempt = used.incrementAndGet();
+
+        count(retriedByCause, cause.getClass().getSimpleName());
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << (attempt - 1));
+        logger.warn("Retrying {} ({} of {}) after {} ms: {}", testId, attempt, maxRetries, delay,
+                cause.getClass().getSimpleName());
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of retries already granted to this invocation.
+     */
+    public static int retriesOf(ITestResult result) {
+        AtomicInteger used = retries.get(TestLogContext.testId(result));
+        return used == null ? 0 : used.get();
+    }
+
+    /**
+     * Retry statistics of this run, e.g. "retried: TimeoutException=2; not retried: assertion=3".
+     */
+    public static String summary() {
+        return "retried: " + format(retriedByCause) + "; not retried: " + format(notRetried);
+    }
+
+    /**
+     * Writes this JVM's retry statistics to the given file, to be merged by mergeRun().
+     *
+     * @param file run file of this JVM
+     */
+    public static void writeRun(File file) {
+        Map<String, Map<String, Integer>> run = new LinkedHashMap<>();
+        run.put("retried", snapshot(retriedByCause));
+        run.put("notRetried", snapshot(notRetried));
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().writeValue(file, run);
+        } catch (IOException e) {
+            logger.warn("Could not write retry statistics {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the retry statistics of another JVM, written by writeRun(), to this JVM's.
+     *
+     * @param file run file of the other JVM; ignored if missing
+     */
+    public static void mergeRun(File file) {
+        if (!file.exists()) {
+            return;
+        }
+        try {
+            JsonNode run = new ObjectMapper().readTree(file);
+            run.path("retried").properties().forEach(entry -> retriedByCause
+                    .computeIfAbsent(entry.getKey(), k -> new AtomicInteger()).addAndGet(entry.getValue().asInt()));
+            run.path("notRetried").properties().forEach(entry -> notRetried
+                    .computeIfAbsent(entry.getKey(), k -> new AtomicInteger()).addAndGet(entry.getValue().asInt()));
+        } catch (IOException e) {
+            logger.warn("Could not read retry statistics {}: {}", file, e.getMessage());
+        }
+    }
+
+    // ===== Helpers =====
+
+    private static Map<String, Integer> snapshot(Map<String, AtomicInteger> counters) {
+        Map<String, Integer> values = new TreeMap<>();
+        counters.forEach((key, value) -> values.put(key, value.get()));
+        return values;
+    }
+
+    private static Throwable transientCause(Throwable throwable) {
+        if (throwable instanceof AssertionError) {
+            return null;
+        }
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            for (Class<? extends Throwable> type : TRANSIENT) {
+                if (type.isInstance(t)) {
+                    return t;
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static void count(Map<String, AtomicInteger> counters, String key) {
+        counters.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
 
+    private static String format(Map<String, AtomicInteger> counters) {
+        if (counters.isEmpty()) {
+            return "none";
+        }
+        StringBuilder text = new StringBuilder();
+        counters.forEach((key, value) -> text.append(text.length() == 0 ? "" : ", ").append(key).append('=')
+                .append(value.get()));
+        return text.toString();
+    }
 }
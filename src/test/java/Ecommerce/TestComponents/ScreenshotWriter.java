@@ -0,0 +1,208 @@
+package Ecommerce.TestComponents;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * ScreenshotWriter
+ * ----------------
+ * Failure screenshots without blocking the test thread on disk I/O.
+ *
+ * The test thread only grabs the PNG bytes from the browser and hashes them;
+ * downscaling (screenshot.maxWidth), re-encoding (screenshot.format) and the
+ * write run on a small bounded executor. When that queue is full the test thread
+ * does the write itself, so memory stays bounded.
+ *
+ * Files are named <name>[-<workerId>]-<n>.<format>, where name is given by the caller
+ * (Listeners: <TestClass.method[-paramHash]>-attempt<k>) and n counts the screenshots
+ * stored for that name (1, 2, ...), so data provider rows and retries never overwrite
+ * each other. In a distributed run the worker id keeps a unit re-queued to another
+ * worker from overwriting the files of its first run. A screenshot identical to one already stored in this run
+ * is not written again and takes no number; the report links the existing file.
+ * If a write fails, its content is forgotten, so the next identical capture writes again.
+ */
+public final class ScreenshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotWriter.class);
+
+    private static final ScreenshotWriter instance = new ScreenshotWriter();
+
+    private final Path directory;
+    private final Path reportDirectory;
+    private final int maxWidth;
+    private final String format;
+    // "-worker-2" in a WorkCoordinator worker, empty otherwise
+    private final String workerSuffix;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+    // Content hash -> report-relative path of the stored file
+    private final Map<String, String> storedByHash = new ConcurrentHashMap<>();
+    // Screenshots stored so far per test id, for the sequence number in the file name
+    private final Map<String, AtomicInteger> sequences = new ConcurrentHashMap<>();
+
+    private ScreenshotWriter() {
+        FrameworkConfig config = FrameworkConfig.get();
+        directory = config.screenshotDir();
+        reportDirectory = config.reportFile().getParent();
+        maxWidth = config.getInt("screenshot.maxWidth", 0);
+        format = "jpg".equalsIgnoreCase(config.getString("screenshot.format", "png")) ? "jpg" : "png";
+        workerSuffix = WorkWorker.isWorker() ? "-" + WorkWorker.id() : "";
+
+        int threads = config.getInt("screenshot.writerThreads", 2);
+        executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getInt("screenshot.queueSize", 16)), runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ScreenshotWriter get() {
+        return instance;
+    }
+
+    /**
+     * Captures the current page and schedules it for writing.
+     *
+     * @param driver browser session of the test
+     * @param testId file-name safe name of the screenshot, e.g. test id and attempt
+     * @return path of the image relative to the report, valid once writes are awaited
+     */
+    public String capture(WebDriver driver, String testId) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        String hash = sha256(png);
+
+        // Numbered and registered atomically, so duplicates take no sequence number
+        Path[] created = new Path[1];
+        String relativePath = storedByHash.computeIfAbsent(hash, key -> {
+            int sequence = sequences.computeIfAbsent(testId, id -> new AtomicInteger()).incrementAndGet();
+            created[0] = directory.resolve(testId + workerSuffix + "-" + sequence + "." + format);
+            return reportDirectory.relativize(created[0]).toString().replace(File.separatorChar, '/');
+        });
+        if (created[0] == null) {
+            logger.info("Screenshot identical to {}; not stored again.", relativePath);
+            return relativePath;
+        }
+
+        Path destination = created[0];
+        Future<?> write = executor.submit(() -> write(png, destination, hash, relativePath));
+        pending.add(write);
+        if (write.isDone()) {
+            pending.remove(write);
+        }
+        return relativePath;
+    }
+
+    /**
+     * Blocks until every scheduled screenshot is on disk, or the timeout passed.
+     * Called before the report is flushed so it never links a missing file.
+     */
+    public void awaitPendingWrites(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Future<?> write : pending) {
+            try {
+                write.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Screenshot writes still pending after {} ms.", timeout.toMillis());
+                return;
+            } catch (ExecutionException e) {
+                logger.error("Screenshot write failed: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                if (write.isDone()) {
+                    pending.remove(write);
+                }
+            }
+        }
+    }
+
+    // ===== Helpers =====
+
+    private void write(byte[] png, Path destination, String hash, String relativePath) {
+        try {
+            Files.createDirectories(destination.getParent());
+            Files.write(destination, encode(png));
+            logger.info("Screenshot saved at: {}", destination);
+        } catch (IOException e) {
+            // Identical captures must not keep linking a file that does not exist
+            storedByHash.remove(hash, relativePath);
+            logger.error("Screenshot {} could not be written: {}", destination, e.getMessage());
+        } finally {
+            pending.removeIf(Future::isDone);
+        }
+    }
+
+    /**
+     * Returns the bytes to store: the browser PNG as is, unless it must be
+     * downscaled or converted to JPEG.
+     */
+    private byte[] encode(byte[] png) throws IOException {
+        if (maxWidth <= 0 && "png".equals(format)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (maxWidth > 0 && width > maxWidth) {
+            height = Math.max(1, height * maxWidth / width);
+            width = maxWidth;
+        }
+        // JPEG has no alpha channel
+        BufferedImage target = new BufferedImage(width, height,
+                "jpg".equals(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(target, format, out);
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package Ecommerce.TestComponents;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * StubShopServer
+ * --------------
+ * Local stand-in for the shop under test (stub.enabled=true), served from this JVM
+ * on localhost:stub.port. FrameworkConfig then points baseUrl and apiBaseUrl at it.
+ *
+ *   - /client serves a one-page web client with the DOM contract the page objects use:
+ *     login form (#userEmail, #userPassword, #login, inline and toast errors), catalogue
+ *     cards (.mb-3), cart (.cart h3, totalRow checkout button), country typeahead
+ *     (.ta-results, .ta-item), order confirmation (.hero-primary) and spinner overlay.
+ *   - /api/ecom serves the JSON endpoints AuthApi and CartApi call (login, products,
+ *     add/remove/list cart, create order), with the same status codes (404 = empty cart).
+ *   - The catalogue holds the products the tests use plus generated ones up to
+ *     stub.catalogueSize, to simulate large catalogues.
+ *
+ * The account is userEmail/userPassword from GlobalData.properties. State (tokens, carts)
+ * lives in memory for the lifetime of the server. If the port is already served, e.g. by
+ * the WorkCoordinator JVM of a multi-JVM run, that server is used instead.
+ */
+public final class StubShopServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubShopServer.class);
+
+    private static final String CLIENT_PAGE = "/stub-shop/client.html";
+
+    // Products the tests refer to by name; the rest of the catalogue is generated
+    private static final String[] KNOWN_PRODUCTS = { "ZARA COAT 3", "ADIDAS ORIGINAL", "IPHONE 13 PRO" };
+
+    private static StubShopServer running;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] clientPage;
+    private final byte[] catalogueResponse;
+    private final Map<String, JsonNode> productsById = new ConcurrentHashMap<>();
+    private final Map<String, String> userIdsByToken = new ConcurrentHashMap<>();
+    private final Map<String, List<JsonNode>> carts = new ConcurrentHashMap<>();
+    private final String userEmail;
+    private final String userPassword;
+    private final String userId;
+
+    private StubShopServer(int port, int catalogueSize) throws IOException {
+        FrameworkConfig config = FrameworkConfig.get();
+        userEmail = config.getString("userEmail", "");
+        userPassword = config.getString("userPassword", "");
+        userId = id("user", userEmail);
+        clientPage = readClientPage();
+        catalogueResponse = buildCatalogue(catalogueSize);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 128);
+        executor = Executors.newFixedThreadPool(Math.max(4, config.getInt("stub.threads", 8)), runnable -> {
+            Thread thread = new Thread(runnable, "stub-shop");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/client", this::serveClient);
+        server.createContext("/api/ecom", this::serveApi);
+        server.start();
+    }
+
+    /**
+     * Starts the stand-in shop if stub.enabled is set and it is not served yet.
+     * Safe to call before every suite.
+     */
+    public static synchronized void startIfEnabled() {
+        FrameworkConfig config = FrameworkConfig.get();
+        if (!config.stubEnabled() || running != null) {
+            return;
+        }
+        int port = config.getInt("stub.port", 8765);
+        try {
+            running = new StubShopServer(port, config.getInt("stub.catalogueSize", 3));
+            Runtime.getRuntime().addShutdownHook(new Thread(StubShopServer::stop, "stub-shop-stop"));
+            logger.info("Stand-in shop serving {} ({} products).", config.baseUrl(), running.productsById.size());
+        } catch (BindException e) {
+            logger.info("Port {} already in use; using the stand-in shop served there.", port);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not start the stand-in shop on port " + port, e);
+        }
+    }
+
+    /**
+     * Stops the stand-in shop if this JVM started it.
+     */
+    public static synchronized void stop() {
+        if (running != null) {
+            running.server.stop(0);
+            running.executor.shutdownNow();
+            running = null;
+            logger.info("Stand-in shop stopped.");
+        }
+    }
+
+    // ===== Web client =====
+
+    private void serveClient(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.equals("/client") && !path.equals("/client/")) {
+            send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        send(exchange, 200, "text/html; charset=utf-8", clientPage);
+    }
+
+    private static byte[] readClientPage() throws IOException {
+        try (InputStream page = StubShopServer.class.getResourceAsStream(CLIENT_PAGE)) {
+            if (page == null) {
+                throw new IOException("Missing classpath resource " + CLIENT_PAGE);
+            }
+            return page.readAllBytes();
+        }
+    }
+
+    // ===== JSON API =====
+
+    private void serveApi(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath().substring("/api/ecom".length());
+        try {
+            if ("POST".equals(method) && path.equals("/auth/login")) {
+                login(exchange);
+                return;
+            }
+            String user = userIdsByToken.get(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+            if (user == null) {
+                sendJson(exchange, 401, message("Unauthorized"));
+            } else if ("POST".equals(method) && path.equals("/product/get-all-products")) {
+                send(exchange, 200, "application/json", catalogueResponse);
+            } else if ("POST".equals(method) && path.equals("/user/add-to-cart")) {
+                addToCart(exchange, user);
+            } else if ("GET".equals(method) && path.startsWith("/user/get-cart-products/")) {
+                cartProducts(exchange, user);
+            } else if ("DELETE".equals(method) && path.startsWith("/user/remove-from-cart/")) {
+                removeFromCart(exchange, user, path.substring(path.lastIndexOf('/') + 1));
+            } else if ("POST".equals(method) && path.equals("/order/create-order")) {
+                createOrder(exchange, user);
+            } else {
+                sendJson(exchange, 404, message("Not found"));
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Stand-in shop failed on {} {}: {}", method, path, e.getMessage());
+            sendJson(exchange, 500, message(e.getMessage()));
+        }
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonNode body = mapper.readTree(exchange.getRequestBody());
+        if (!userEmail.equalsIgnoreCase(body.path("userEmail").asText())
+                || !userPassword.equals(body.path("userPassword").asText())) {
+            sendJson(exchange, 400, message("Incorrect email or password."));
+            return;
+        }
+        String token = token(userId);
+        userIdsByToken.put(token, userId);
+        ObjectNode response = message("Login Successfully");
+        response.put("token", token).put("userId", userId);
+        sendJson(exchange, 200, response);
+    }
+
+    private void addToCart(HttpExchange exchange, String user) throws IOException {
+        JsonNode product = productsById.get(mapper.readTree(exchange.getRequestBody()).path("product").path("_id").asText());
+        if (product == null) {
+            sendJson(exchange, 400, message("Product not found"));
+            return;
+        }
+        List<JsonNode> cart = carts.computeIfAbsent(user, key -> new ArrayList<>());
+        synchronized (cart) {
+            cart.add(product);
+        }
+        sendJson(exchange, 200, message("Product Added To Cart"));
+    }
+
+    private void cartProducts(HttpExchange exchange, String user) throws IOException {
+        List<JsonNode> cart = carts.getOrDefault(user, List.of());
+        ObjectNode response;
+        synchronized (cart) {
+            if (cart.isEmpty()) {
+                sendJson(exchange, 404, message("No Product in Cart"));
+                return;
+            }
+            response = message("Cart Data Found");
+            response.putArray("products").addAll(cart);
+            response.put("count", cart.size());
+        }
+        sendJson(exchange, 200, response);
+    }
+
+    private void removeFromCart(HttpExchange exchange, String user, String productId) throws IOException {
+        List<JsonNode> cart = carts.getOrDefault(user, List.of());
+        synchronized (cart) {
+            for (int i = 0; i < cart.size(); i++) {
+                if (cart.get(i).path("_id").asText().equals(productId)) {
+                    cart.remove(i);
+                    break;
+                }
+            }
+        }
+        sendJson(exchange, 200, message("Product Removed from cart"));
+    }
+
+    private void createOrder(HttpExchange exchange, String user) throws IOException {
+        JsonNode orders = mapper.readTree(exchange.getRequestBody()).path("orders");
+        if (!orders.isArray() || orders.isEmpty() || orders.get(0).path("country").asText().isBlank()) {
+            sendJson(exchange, 400, message("Please Enter Full Shipping Information"));
+            return;
+        }
+        ObjectNode response = message("Order Placed Successfully");
+        ArrayNode ids = response.putArray("orders");
+        orders.forEach(order -> ids.add(UUID.randomUUID().toString().replace("-", "").substring(0, 24)));
+        sendJson(exchange, 201, response);
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Serializes the catalogue response once; it is the largest and most frequent response.
+     */
+    private byte[] buildCatalogue(int size) throws IOException {
+        ObjectNode response = message("All Products fetched Successfully");
+        ArrayNode data = response.putArray("data");
+        for (int i = 0; i < Math.max(size, KNOWN_PRODUCTS.length); i++) {
+            String name = i < KNOWN_PRODUCTS.length ? KNOWN_PRODUCTS[i] : "PRODUCT " + (i + 1);
+            ObjectNode product = data.addObject()
+                    .put("_id", id("product", name))
+                    .put("productName", name)
+                    .put("productCategory", i % 2 == 0 ? "fashion" : "electronics")
+                    .put("productSubCategory", "shirts")
+                    .put("productPrice", 1000 + (i * 37) % 90000)
+                    .put("productDescription", name + " description")
+                    .put("productImage", "")
+                    .put("productRating", "0")
+                    .put("productTotalOrders", "0")
+                    .put("productStatus", true)
+                    .put("productFor", "women")
+                    .put("productAddedBy", "admin@gmail.com");
+            productsById.put(product.get("_id").asText(), product);
+        }
+        response.put("count", data.size());
+        return mapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * JWT-shaped token with userId and exp claims, so AuthApi reads its expiry as usual.
+     */
+    private String token(String user) throws IOException {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        ObjectNode claims = mapper.createObjectNode()
+                .put("_id", user)
+                .put("userEmail", userEmail)
+                .put("iat", Instant.now().getEpochSecond())
+                .put("exp", Instant.now().plus(Duration.ofDays(1)).getEpochSecond());
+        return encoder.encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(mapper.writeValueAsBytes(claims))
+                + "." + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Stable 24 hex digit id, shaped like the shop's ids.
+     */
+    private static String id(String kind, String name) {
+        return UUID.nameUUIDFromBytes((kind + ":" + name).getBytes(StandardCharsets.UTF_8))
+                .toString().replace("-", "").substring(0, 24);
+    }
+
+    private ObjectNode message(String message) {
+        return mapper.createObjectNode().put("message", message);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        send(exchange, status, "application/json", mapper.writeValueAsBytes(body));
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
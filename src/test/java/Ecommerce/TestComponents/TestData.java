@@ -0,0 +1,168 @@
+package Ecommerce.TestComponents;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+
+/**
+ * TestData
+ * --------
+ * Typed test data for DataProviders, read from JSON arrays such as JSonData.
+ *
+ *   - Files up to testData.cacheMaxBytes are parsed once per JVM and cached.
+ *   - Larger files are streamed row by row on every call, so they never have
+ *     to fit in memory.
+ *   - Rows are returned lazily as Iterator<Object[]>, one typed record per row.
+ *   - Rows can be filtered by tag (testData.tags, plus tags the DataProvider asks for)
+ *     and sampled (testData.sample = fraction of rows, stable for a given testData.seed).
+ */
+public final class TestData {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestData.class);
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // Parsed rows per (file, type)
+    private static final Map<String, List<?>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * A row that can be selected by tag.
+     */
+    public interface Tagged {
+        List<String> tags();
+    }
+
+    private TestData() {
+    }
+
+    /**
+     * Rows of the configured test data file (testData) as DataProvider parameters.
+     *
+     * @param type         record type of one row
+     * @param requiredTags if given, only rows with at least one of these tags
+     * @return lazy iterator with one typed record per row
+     */
+    public static <T extends Tagged> Iterator<Object[]> rows(Class<T> type, String... requiredTags) {
+        return rows(FrameworkConfig.get().testDataFile(), type, requiredTags);
+    }
+
+    /**
+     * Rows of a test data file as DataProvider parameters.
+     */
+    public static <T extends Tagged> Iterator<Object[]> rows(Path file, Class<T> type, String... requiredTags) {
+        FrameworkConfig config = FrameworkConfig.get();
+        List<String> runTags = config.getList("testData.tags", "");
+        double sample = Double.parseDouble(config.getString("testData.sample", "1.0"));
+        long seed = config.getLong("testData.seed", 1);
+
+        Predicate<T> selected = row -> hasAnyTag(row, List.of(requiredTags)) && hasAnyTag(row, runTags);
+        return new SelectingIterator<>(open(file, type), selected, sample, seed);
+    }
+
+    // ===== Helpers =====
+
+    @SuppressWarnings("unchecked")
+    private static <T> Iterator<T> open(Path file, Class<T> type) {
+        try {
+            long maxCachedBytes = FrameworkConfig.get().getLong("testData.cacheMaxBytes", 5 * 1024 * 1024);
+            if (Files.size(file) > maxCachedBytes) {
+                logger.info("Streaming test data from {}", file);
+                return stream(file, type);
+            }
+            List<T> rows = (List<T>) cache.computeIfAbsent(file.toAbsolutePath() + "|" + type.getName(), key -> {
+                logger.info("Loading test data from JSON file: {}", file);
+                try (MappingIterator<T> iterator = stream(file, type)) {
+                    return List.copyOf(iterator.readAll());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read test data " + file, e);
+                }
+            });
+            return rows.iterator();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test data " + file, e);
+        }
+    }
+
+    /**
+     * Reads the elements of the top-level JSON array one at a time.
+     */
+    private static <T> MappingIterator<T> stream(Path file, Class<T> type) {
+        try {
+            ObjectReader reader = mapper.readerFor(type);
+            return reader.readValues(file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read test data " + file, e);
+        }
+    }
+
+    private static boolean hasAnyTag(Tagged row, List<String> tags) {
+        return tags.isEmpty() || row.tags().stream().anyMatch(tags::contains);
+    }
+
+    /**
+     * Filters and samples rows while they are read; closes a streamed file when exhausted.
+     */
+    private static final class SelectingIterator<T> implements Iterator<Object[]> {
+        private final Iterator<T> source;
+        private final Predicate<T> selected;
+        private final double sample;
+        private final long seed;
+        private long index;
+        private T next;
+
+        SelectingIterator(Iterator<T> source, Predicate<T> selected, double sample, long seed) {
+            this.source = source;
+            this.selected = selected;
+            this.sample = sample;
+            this.seed = seed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && source.hasNext()) {
+                T row = source.next();
+                // Sampling depends only on the seed and row position, so it is stable across runs
+                boolean sampled = sample >= 1.0 || new SplittableRandom(seed * 31 + index).nextDouble() < sample;
+                index++;
+                if (sampled && selected.test(row)) {
+                    next = row;
+                }
+            }
+            if (next == null && source instanceof MappingIterator) {
+                try {
+                    ((MappingIterator<?>) source).close();
+                } catch (IOException e) {
+                    logger.debug("Could not close test data stream: {}", e.getMessage());
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T row = next;
+            next = null;
+            return new Object[] { row };
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package Ecommerce.TestComponents;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import org.slf4j.MDC;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * TestLogContext
+ * --------------
+ * Binds the running test to the logging thread through the MDC key "testId".
+ * log4j2.xml routes every event carrying a testId to logs/tests/<runId>/<testId>.log,
+ * so tests running in parallel each get a readable log of their own.
+ */
+public final class TestLogContext {
+
+    public static final String TEST_ID = "testId";
+
+    static {
+        // One directory per run for the per-test files
+        if (System.getProperty("sfd.runId") == null) {
+            System.setProperty("sfd.runId",
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        }
+    }
+
+    private TestLogContext() {
+    }
+
+    /**
+     * Id of this run (directory of the per-test logs); worker JVMs inherit it.
+     */
+    public static String runId() {
+        return System.getProperty("sfd.runId");
+    }
+
+    /**
+     * Binds the test to the current thread. Safe to call from several configuration methods.
+     *
+     * @param result result of the test method about to run
+     */
+    public static void begin(ITestResult result) {
+        MDC.put(TEST_ID, testId(result));
+    }
+
+    /**
+     * Removes the test binding from the current thread.
+     */
+    public static void end() {
+        MDC.remove(TEST_ID);
+    }
+
+    /**
+     * Builds a file-name safe id: TestClass.method, plus a hash of the data provider row if any.
+     * The parameters themselves are not used, since rows may contain passwords.
+     */
+    static String testId(ITestResult result) {
+        String id = methodId(result.getMethod());
+        if (result.getParameters().length > 0) {
+            id += "-" + Integer.toHexString(Arrays.deepHashCode(result.getParameters()));
+        }
+        return id;
+    }
+
+    /**
+     * Builds the file-name safe id of a test method: TestClass.method.
+     */
+    static String methodId(ITestNGMethod method) {
+        return (method.getRealClass().getSimpleName() + "." + method.getMethodName()).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,458 @@
+package Ecommerce.TestComponents;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import Ecommerce.AbstractComponent.FrameworkConfig;
+import Ecommerce.AbstractComponent.WaitTelemetry;
+import Ecommerce.TestComponents.ResultStream.TestRecord;
+import resources.ExtentReportNG;
+
+/**
+ * WorkCoordinator
+ * ---------------
+ * Runs a suite XML across several worker JVMs on this host (workers.count).
+ *
+ * The suite is split into work units, one per test method (its data provider rows
+ * stay together in one worker). Units are queued longest first by DurationHistory, and
+ * every worker pulls its next unit over a loopback socket as soon as it is free, so fast
+ * workers take over the work slow ones have not started yet; there is no static sharding.
+ * Units of a serial group (workers.serialGroups, e.g. "cart": those tests share one
+ * account and reset its cart) run one at a time; a worker asking while another unit of
+ * the group is in flight gets a different unit, or waits if only that group is left.
+ *
+ * A worker JVM that dies (e.g. a crashed browser taking the JVM down) only loses its
+ * current unit: the unit is queued again once and a replacement worker is started.
+ * A worker still on one unit after workers.unitTimeoutMinutes is treated as hung and
+ * killed, which makes it a crash; a worker not exiting workers.shutdownTimeoutSeconds
+ * after the last unit is killed too, so a stuck browser never hangs the coordinator.
+ * At the end the workers' result streams are merged into reports/results.jsonl,
+ * the HTML report is rendered once and the duration history is updated; the workers'
+ * wait, network and retry figures are merged into the wait history and reports the same way.
+ *
+ * Usage: mvn -P Distributed test-compile exec:exec (see pom.xml), or
+ *        java -cp <test classpath> Ecommerce.TestComponents.WorkCoordinator testSuites/testNg.xml
+ */
+public final class WorkCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkCoordinator.class);
+
+    // Files every worker writes for merge()
+    private static final List<String> RUN_FILES = List.of("results.jsonl", "waits.json", "network.json",
+            "retries.json");
+
+    private final BlockingDeque<WorkUnit> queue = new LinkedBlockingDeque<>();
+    private final Map<WorkUnit, Integer> crashes = new ConcurrentHashMap<>();
+    private final List<WorkUnit> abandoned = new ArrayList<>();
+    private final AtomicInteger finishedUnits = new AtomicInteger();
+    private final List<String> workerIds = new ArrayList<>();
+    // Worker id -> its JVM, and the start (nanoTime) of the unit it is running
+    private final Map<String, Process> workerProcesses = new ConcurrentHashMap<>();
+    private final Map<String, Long> unitStarted = new ConcurrentHashMap<>();
+    // Serial groups with a unit in flight; guarded by queue
+    private final Set<String> busyGroups = new HashSet<>();
+
+    private int totalUnits;
+
+    private WorkCoordinator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String suiteFile = args.length > 0 ? args[0] : "testSuites/testNg.xml";
+        int workers = FrameworkConfig.get().getInt("workers.count", 2);
+        boolean passed = new WorkCoordinator().run(suiteFile, workers);
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Runs every unit of the suite on the given number of worker JVMs.
+     *
+     * @return true if no test failed
+     */
+    private boolean run(String suiteFile, int workers) throws IOException, InterruptedException {
+        List<WorkUnit> units = split(suiteFile);
+        units.sort(Comparator.comparingLong(WorkCoordinator::estimateMillis).reversed());
+        queue.addAll(units);
+        totalUnits = units.size();
+        logger.info("Distributing {} work units from {} over {} worker JVMs.", totalUnits, suiteFile, workers);
+        if (totalUnits == 0) {
+            return merge();
+        }
+
+        Files.createDirectories(workerFile("", "").getParent());
+        StubShopServer.startIfEnabled(); // One stand-in shop shared by all workers
+        List<Process> processes = new ArrayList<>();
+        int restarts = 0;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> accept(server), "work-coordinator");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            for (int i = 0; i < workers; i++) {
+                processes.add(startWorker(server.getLocalPort(), processes.size() + 1));
+            }
+            Duration unitTimeout = Duration.ofMinutes(
+                    FrameworkConfig.get().getLong("workers.unitTimeoutMinutes", 30));
+            while (!allUnitsAccounted()) {
+                Thread.sleep(500);
+                killHungWorkers(unitTimeout);
+                boolean anyAlive = processes.stream().anyMatch(Process::isAlive);
+                long dead = processes.stream().filter(p -> !p.isAlive() && p.exitValue() != 0).count();
+                // Replace crashed workers while work is left, at most once per worker slot
+                if (!queue.isEmpty() && (dead > restarts || !anyAlive) && restarts < workers) {
+                    restarts++;
+                    logger.warn("Worker JVM exited abnormally; starting a replacement.");
+                    processes.add(startWorker(server.getLocalPort(), processes.size() + 1));
+                } else if (!anyAlive) {
+                    logger.error("No worker left; {} units were not run.", queue.size());
+                    synchronized (abandoned) {
+                        abandoned.addAll(queue);
+                    }
+                    queue.clear();
+                    break;
+                }
+            }
+            // Keep listening until every worker has connected and been told DONE
+            long shutdownSeconds = FrameworkConfig.get().getLong("workers.shutdownTimeoutSeconds", 120);
+            for (Process process : processes) {
+                if (!process.waitFor(shutdownSeconds, TimeUnit.SECONDS)) {
+                    logger.error("Worker JVM {} did not exit within {} s; killing it.", process.pid(),
+                            shutdownSeconds);
+                    process.destroyForcibly().waitFor(10, TimeUnit.SECONDS);
+                }
+            }
+        }
+        return merge();
+    }
+
+    // ===== Work units =====
+
+    /**
+     * Splits the suite into one unit per test method of every class of every <test>.
+     */
+    private static List<WorkUnit> split(String suiteFile) throws IOException {
+        List<String> serialGroups = FrameworkConfig.get().getList("workers.serialGroups", "cart");
+        List<WorkUnit> units = new ArrayList<>();
+        for (XmlSuite suite : new Parser(suiteFile).parseToList()) {
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    List<String> included = xmlClass.getIncludedMethods().stream().map(XmlInclude::getName).toList();
+                    for (Method method : xmlClass.getSupportClass().getMethods()) {
+                        if (method.isAnnotationPresent(Test.class)
+                                && (included.isEmpty() || included.contains(method.getName()))) {
+                            units.add(new WorkUnit(test.getName(), xmlClass.getName(), method.getName(),
+                                    suite.getDataProviderThreadCount(), serialGroup(method, serialGroups)));
+                        }
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * First serial group the test method belongs to (its own or its class's @Test groups),
+     * or "" if none.
+     */
+    private static String serialGroup(Method method, List<String> serialGroups) {
+        Test classTest = method.getDeclaringClass().getAnnotation(Test.class);
+        return Stream.concat(Arrays.stream(method.getAnnotation(Test.class).groups()),
+                        classTest == null ? Stream.empty() : Arrays.stream(classTest.groups()))
+                .filter(serialGroups::contains).findFirst().orElse("");
+    }
+
+    private static long estimateMillis(WorkUnit unit) {
+        String simpleName = unit.className().substring(unit.className().lastIndexOf('.') + 1);
+        return DurationHistory.get().durationsOf(simpleName + "." + unit.method()).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    private boolean allUnitsAccounted() {
+        synchronized (abandoned) {
+            return finishedUnits.get() + abandoned.size() >= totalUnits;
+        }
+    }
+
+    // ===== Workers =====
+
+    /**
+     * File of a worker in the worker directory next to the report: workers/<workerId>-<suffix>
+     */
+    static Path workerFile(String workerId, String suffix) {
+        return FrameworkConfig.get().reportFile().getParent().resolve("workers")
+                .resolve(workerId + "-" + suffix);
+    }
+
+    private Process startWorker(int port, int number) throws IOException {
+        String workerId = "worker-" + number;
+        // A worker that dies before writing must not leave the previous run's files to merge
+        for (String suffix : RUN_FILES) {
+            Files.deleteIfExists(workerFile(workerId, suffix));
+        }
+        Path results = workerFile(workerId, "results.jsonl");
+        synchronized (workerIds) {
+            workerIds.add(workerId);
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        // Pass on -D settings given to the coordinator (browser, baseUrl, ...)
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(argument -> argument.startsWith("-D")).forEach(command::add);
+        command.addAll(FrameworkConfig.get().getList("workers.jvmArgs", ""));
+        command.add("-D" + WorkWorker.PORT_PROPERTY + "=" + port);
+        command.add("-D" + WorkWorker.ID_PROPERTY + "=" + workerId);
+        command.add("-Dreport.results=" + results);
+        command.add("-Dsfd.runId=" + TestLogContext.runId());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(WorkWorker.class.getName());
+
+        File output = workerFile(workerId, "output.log").toFile();
+        logger.info("Starting {} (output: {})", workerId, output);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output).start();
+        workerProcesses.put(workerId, process);
+        return process;
+    }
+
+    /**
+     * Kills workers that have been on one unit longer than the timeout. Their connection
+     * closes with the unit unacknowledged, so it is handled like a crash.
+     */
+    private void killHungWorkers(Duration unitTimeout) {
+        long now = System.nanoTime();
+        unitStarted.forEach((workerId, started) -> {
+            Process process = workerProcesses.get(workerId);
+            if (now - started > unitTimeout.toNanos() && process != null && process.isAlive()) {
+                logger.error("{} has been on one unit for more than {} min; killing it as hung.", workerId,
+                        unitTimeout.toMinutes());
+                unitStarted.remove(workerId);
+                process.destroyForcibly();
+            }
+        });
+    }
+
+    private void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread handler = new Thread(() -> serve(socket), "work-coordinator-" + socket.getPort());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!server.isClosed()) {
+                    logger.error("Worker connection failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands out units to one worker. A "NEXT <workerId>" acknowledges the unit in flight;
+     * a connection lost with a unit in flight means the worker JVM died or was killed.
+     */
+    private void serve(Socket socket) {
+        WorkUnit inFlight = null;
+        String workerId = null;
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.startsWith("NEXT ")) {
+                    continue;
+                }
+                workerId = line.substring(5);
+                unitStarted.remove(workerId);
+                if (inFlight != null) {
+                    release(inFlight);
+                    finishedUnits.incrementAndGet();
+                    inFlight = null;
+                }
+                WorkUnit unit = take();
+                if (unit == null) {
+                    out.println("DONE");
+                    return;
+                }
+                inFlight = unit;
+                unitStarted.put(workerId, System.nanoTime());
+                out.println("RUN " + unit.format());
+            }
+        } catch (SocketException e) {
+            logger.debug("Worker connection closed: {}", e.getMessage());
+        } catch (IOException e) {
+            logger.error("Worker connection failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (workerId != null) {
+                unitStarted.remove(workerId);
+            }
+            if (inFlight != null) {
+                release(inFlight);
+                requeueOrAbandon(inFlight);
+            }
+        }
+    }
+
+    /**
+     * Next unit to run: the first queued unit whose serial group is not in flight.
+     * Waits while only units of busy groups are queued.
+     *
+     * @return next unit, or null when the queue is empty
+     */
+    private WorkUnit take() throws InterruptedException {
+        synchronized (queue) {
+            while (!queue.isEmpty()) {
+                for (WorkUnit unit : queue) {
+                    if (unit.serialGroup().isEmpty() || !busyGroups.contains(unit.serialGroup())) {
+                        queue.removeFirstOccurrence(unit);
+                        if (!unit.serialGroup().isEmpty()) {
+                            busyGroups.add(unit.serialGroup());
+                        }
+                        return unit;
+                    }
+                }
+                queue.wait(500);
+            }
+            return null;
+        }
+    }
+
+    private void release(WorkUnit unit) {
+        synchronized (queue) {
+            busyGroups.remove(unit.serialGroup());
+            queue.notifyAll();
+        }
+    }
+
+    private void requeueOrAbandon(WorkUnit unit) {
+        if (crashes.merge(unit, 1, Integer::sum) <= 1) {
+            logger.warn("Worker died or hung while running {}; queuing it again.", unit);
+            synchronized (queue) {
+                queue.addFirst(unit);
+                queue.notifyAll();
+            }
+        } else {
+            logger.error("Worker died or hung twice while running {}; giving up on it.", unit);
+            synchronized (abandoned) {
+                abandoned.add(unit);
+            }
+        }
+    }
+
+    // ===== Results =====
+
+    /**
+     * Merges the workers' result streams into this JVM's stream, renders the report
+     * and records the durations; merges the workers' wait, network and retry figures and
+     * writes their history and reports.
+     *
+     * @return true if no test failed
+     */
+    private boolean merge() {
+        List<TestRecord> records = new ArrayList<>();
+        int tests = 0;
+        synchronized (workerIds) {
+            for (String workerId : workerIds) {
+                records.addAll(ResultStream.read(workerFile(workerId, "results.jsonl")));
+                WaitTelemetry.get().mergeRun(workerFile(workerId, "waits.json").toFile());
+                tests += NetworkUsageTracker.mergeRun(workerFile(workerId, "network.json").toFile());
+                RetryToRunTheFailedTest.mergeRun(workerFile(workerId, "retries.json").toFile());
+            }
+        }
+        synchronized (abandoned) {
+            for (WorkUnit unit : abandoned) {
+                records.add(crashRecord(unit));
+            }
+        }
+        records.sort(Comparator.comparingLong(record -> record.endMillis));
+
+        boolean passed = true;
+        for (TestRecord record : records) {
+            ResultStream.get().append(record);
+            if ("PASS".equals(record.status) || "FAIL".equals(record.status)) {
+                DurationHistory.get().record(record.testId, record.endMillis - record.startMillis);
+            }
+            passed &= !"FAIL".equals(record.status);
+        }
+        DurationHistory.get().persist();
+        ExtentReportNG.render(ResultStream.get().readAll(), RetryToRunTheFailedTest.summary());
+        logger.info("Merged {} results from {} workers into {}.", records.size(), workerIds.size(),
+                ResultStream.get().getFile());
+        logger.info("Retry statistics: {}", RetryToRunTheFailedTest.summary());
+
+        NetworkUsageTracker.writeReport(NetworkUsageTracker.profile(), tests);
+        WaitTelemetry.get().persist();
+        WaitTelemetry.get().writeReport(FrameworkConfig.get().reportFile().getParent().toFile(), 10);
+        return passed;
+    }
+
+    private static TestRecord crashRecord(WorkUnit unit) {
+        TestRecord record = new TestRecord();
+        record.className = unit.className();
+        record.method = unit.method();
+        record.testId = unit.className().substring(unit.className().lastIndexOf('.') + 1) + "." + unit.method();
+        record.context = unit.testName();
+        record.status = "FAIL";
+        record.error = "Worker JVM crashed or hung twice while running this test";
+        record.startMillis = System.currentTimeMillis();
+        record.endMillis = record.startMillis;
+        return record;
+    }
+
+    /**
+     * One test method of a <test>, with the data provider thread count of its suite and
+     * its serial group ("" if it may run alongside anything).
+     * Sent to workers as one tab-separated line.
+     */
+    record WorkUnit(String testName, String className, String method, int dataProviderThreads,
+            String serialGroup) {
+
+        String format() {
+            return String.join("\t", testName, className, method, String.valueOf(dataProviderThreads),
+                    serialGroup);
+        }
+
+        static WorkUnit parse(String line) {
+            String[] parts = line.split("\t", -1);
+            return new WorkUnit(parts[0], parts[1], parts[2], Integer.parseInt(parts[3]), parts[4]);
+        }
+    }
+}
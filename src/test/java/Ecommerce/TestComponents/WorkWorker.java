@@ -0,0 +1,111 @@
+package Ecommerce.TestComponents;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * WorkWorker
+ * ----------
+ * Worker JVM started by WorkCoordinator. Connects to the coordinator over loopback,
+ * asks for the next work unit (one test method with all its data provider rows),
+ * runs it as a one-method TestNG suite and asks again until the queue is empty.
+ *
+ * Browsers stay in this JVM's DriverPool across units; results go to this JVM's
+ * ResultStream (report.results is set per worker by the coordinator), wait, network and retry
+ * figures to this worker's run files (runFile()), which the coordinator merges.
+ *
+ * Protocol, one line per message:
+ *   worker -> "NEXT <workerId>"            (also acknowledges the previous unit)
+ *   coordinator -> "RUN <unit>" | "DONE"   (see WorkCoordinator.WorkUnit)
+ */
+public final class WorkWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkWorker.class);
+
+    static final String PORT_PROPERTY = "sfd.worker.port";
+    static final String ID_PROPERTY = "sfd.worker.id";
+
+    private WorkWorker() {
+    }
+
+    /**
+     * Whether this JVM is a worker of a WorkCoordinator run.
+     */
+    public static boolean isWorker() {
+        return System.getProperty(PORT_PROPERTY) != null;
+    }
+
+    /**
+     * Id of this worker, e.g. "worker-2"; unique within a coordinator run.
+     */
+    static String id() {
+        return System.getProperty(ID_PROPERTY, "worker");
+    }
+
+    /**
+     * File of this worker in the coordinator's worker directory, e.g. runFile("waits.json").
+     */
+    static Path runFile(String suffix) {
+        return WorkCoordinator.workerFile(id(), suffix);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = Integer.getInteger(PORT_PROPERTY);
+        String workerId = id();
+        int units = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            while (true) {
+                out.println("NEXT " + workerId);
+                String line = in.readLine();
+                if (line == null || !line.startsWith("RUN ")) {
+                    break;
+                }
+                WorkCoordinator.WorkUnit unit = WorkCoordinator.WorkUnit.parse(line.substring(4));
+                logger.info("{} running {}", workerId, unit);
+                run(unit, workerId);
+                units++;
+            }
+        } finally {
+            BaseTest.finishRun();
+            logger.info("{} finished after {} work units.", workerId, units);
+        }
+        // Pooled executors and browser services must not keep the JVM alive
+        System.exit(0);
+    }
+
+    private static void run(WorkCoordinator.WorkUnit unit, String workerId) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(workerId);
+        suite.setDataProviderThreadCount(unit.dataProviderThreads());
+        suite.addListener(Listeners.class.getName());
+
+        XmlTest test = new XmlTest(suite);
+        test.setName(unit.testName());
+        XmlClass testClass = new XmlClass(unit.className());
+        testClass.getIncludedMethods().add(new XmlInclude(unit.method()));
+        test.setXmlClasses(List.of(testClass));
+
+        TestNG testNG = new TestNG();
+        testNG.setUseDefaultListeners(false);
+        testNG.setXmlSuites(List.of(suite));
+        testNG.run();
+    }
+}
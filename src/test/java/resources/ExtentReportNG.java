@@ -2,20 +2,112 @@ package resources;
 
 
 
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 
+import Ecommerce.AbstractComponent.FrameworkConfig;
+import Ecommerce.TestComponents.ResultStream.TestRecord;
+
 public class  ExtentReportNG {
-	
+
 	public static ExtentReports getExtendReportObject() {
-		String path = System.getProperty("user.dir")+"//reports//index.html";
+		  FrameworkConfig config = FrameworkConfig.get();
+		  String path = config.reportFile().toString();
 		  ExtentSparkReporter sparkReporter = new ExtentSparkReporter(path);
-		  sparkReporter.config().setDocumentTitle("Ecommerce Test");
-		  sparkReporter.config().setReportName("Ecommerce Report Name");
+		  sparkReporter.config().setDocumentTitle(config.getString("report.title", "Ecommerce Test"));
+		  sparkReporter.config().setReportName(config.getString("report.name", "Ecommerce Report Name"));
 		  ExtentReports extent = new ExtentReports();
 		  extent.attachReporter(sparkReporter);
-		  extent.setSystemInfo("Tester", "Basharmal Safi");
+		  extent.setSystemInfo("Tester", config.getString("report.tester", "Basharmal Safi"));
+		  extent.setSystemInfo("Browser", config.browser());
 		  return extent;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Renders the HTML report once from the results stream.
+	 * Screenshots are linked by path, not embedded.
+	 *
+	 * @param records      results in the order they finished
+	 * @param retrySummary retry statistics shown with the system info
+	 */
+	public static void render(List<TestRecord> records, String retrySummary) {
+		  ExtentReports extent = getExtendReportObject();
+		  extent.setSystemInfo("Retries", retrySummary);
+		  for (TestRecord record : records) {
+			  String name = record.attempt > 1 ? record.method + " (attempt " + record.attempt + ")" : record.method;
+			  ExtentTest test = extent.createTest(name, record.description);
+			  if (record.context != null) {
+				  test.assignCategory(record.context);
+			  }
+			  switch (record.status) {
+				  case "PASS":
+					  test.pass("Test Passed");
+					  break;
+				  case "FAIL":
+					  test.fail(record.error);
+					  if (record.stackTrace != null) {
+						  test.fail(MarkupHelper.createCodeBlock(record.stackTrace));
+					  }
+					  if (record.screenshot != null) {
+						  test.fail("Screenshot", MediaEntityBuilder.createScreenCaptureFromPath(record.screenshot).build());
+					  }
+					  break;
+				  case "RETRIED":
+					  test.warning("Retried after: " + record.error);
+					  break;
+				  default:
+					  test.skip(record.error != null ? record.error : "Test Skipped");
+			  }
+			  if (record.pageMetrics != null) {
+				  test.info(MarkupHelper.createTable(metricsTable(record.pageMetrics)));
+			  }
+			  // Keep the recorded timing, not the time of rendering
+			  test.getModel().setStartTime(new Date(record.startMillis));
+			  test.getModel().setEndTime(new Date(record.endMillis));
+		  }
+		  extent.flush();
+	}
+
+	/**
+	 * One row per page transition of a test (see PageMetrics); times in ms, sizes in KB.
+	 */
+	@SuppressWarnings("unchecked")
+	private static String[][] metricsTable(List<Map<String, Object>> samples) {
+		  String[][] rows = new String[samples.size() + 1][];
+		  rows[0] = new String[] { "Transition", "Duration", "TTFB", "DOMContentLoaded", "Load", "LCP", "CLS",
+				  "Long tasks", "Requests", "KB" };
+		  for (int i = 0; i < samples.size(); i++) {
+			  Map<String, Object> sample = samples.get(i);
+			  Map<String, Object> navigation = (Map<String, Object>) sample.getOrDefault("navigation", Map.of());
+			  Map<String, Object> resources = (Map<String, Object>) sample.getOrDefault("resources", Map.of());
+			  Map<String, Object> longTasks = (Map<String, Object>) sample.get("longTasks"); // null: not observed
+			  long bytes = ((Number) resources.getOrDefault("transferBytes", 0)).longValue()
+					  + ((Number) navigation.getOrDefault("transferBytes", 0)).longValue();
+			  rows[i + 1] = new String[] {
+					  String.valueOf(sample.get("transition")),
+					  valueOf(sample.get("durationMs")),
+					  valueOf(navigation.get("ttfbMs")),
+					  valueOf(navigation.get("domContentLoadedMs")),
+					  valueOf(navigation.get("loadMs")),
+					  valueOf(sample.get("lcpMs")),
+					  valueOf(sample.get("cls")),
+					  longTasks == null ? "n/a"
+							  : valueOf(longTasks.get("count")) + " / " + valueOf(longTasks.get("totalMs")),
+					  valueOf(resources.get("count")),
+					  String.valueOf(bytes / 1024) };
+		  }
+		  return rows;
+	}
+
+	private static String valueOf(Object value) {
+		  return value == null ? "-" : value.toString();
+	}
+
+}